@@ -0,0 +1,181 @@
+package fr.yourserver.whitelistbot.database;
+
+import org.bukkit.configuration.MemoryConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks de {@link DatabaseManager} sur un fichier SQLite temporaire rempli de demandes synthétiques.
+ * Débit et percentiles de latence par opération ; le taux d'allocation vient de {@code -prof gc}
+ * (activé par défaut par le profil Maven jmh).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DatabaseManagerBenchmark {
+
+    private static final long FIRST_DISCORD_ID = 100_000_000_000_000_000L;
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    // Taille du cache mémoire ; -p cacheEntries=1 pour mesurer le chemin SQLite des recherches
+    @Param({"10000"})
+    public int cacheEntries;
+
+    private Path directory;
+    private DatabaseManager database;
+    private final AtomicLong nextDiscordId = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("whitelistbot-jmh");
+        Logger logger = Logger.getLogger("WhitelistBot-Benchmark");
+        logger.setLevel(java.util.logging.Level.WARNING);
+
+        MemoryConfiguration config = new MemoryConfiguration();
+        config.set("database.cache.max-entries", cacheEntries);
+
+        // Premier démarrage : crée le schéma à jour, puis remplissage direct en JDBC
+        new DatabaseManager(logger, "[Benchmark]", directory.toFile(), config).close();
+        seed(new File(directory.toFile(), "whitelist.db"), rows);
+
+        database = new DatabaseManager(logger, "[Benchmark]", directory.toFile(), config);
+        nextDiscordId.set(FIRST_DISCORD_ID + rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    // Attend le commit du lot : inclut la fenêtre de regroupement du thread d'écriture (database.writer.flush-interval-ms)
+    @Benchmark
+    public void saveWhitelistRequest() throws SQLException {
+        long discordId = nextDiscordId.getAndIncrement();
+        database.saveWhitelistRequest(new WhitelistRequest(
+                String.valueOf(discordId), "bench#" + discordId, "n" + discordId, LocalDateTime.now()));
+    }
+
+    @Benchmark
+    public void updateRequestStatus() throws SQLException {
+        database.updateRequestStatus(String.valueOf(FIRST_DISCORD_ID + randomRow()), RequestStatus.APPROVED, "bench");
+    }
+
+    @Benchmark
+    public WhitelistRequest getRequestByMinecraftUsername() throws SQLException {
+        return database.getRequestByMinecraftUsername(username(randomRow()));
+    }
+
+    @Benchmark
+    public List<WhitelistRequest> getAllRequests() throws SQLException {
+        return database.getAllRequests();
+    }
+
+    @Benchmark
+    public List<WhitelistRequest> getRequestsByStatus() throws SQLException {
+        return database.getRequestsByStatus(RequestStatus.PENDING);
+    }
+
+    @Benchmark
+    public RequestPage getRequestPage() throws SQLException {
+        return database.getRequestPage(RequestStatus.PENDING, null, false, 10);
+    }
+
+    @Benchmark
+    public int getRequestCount() throws SQLException {
+        return database.getRequestCount();
+    }
+
+    @Benchmark
+    public int getRequestCountByStatus() throws SQLException {
+        return database.getRequestCountByStatus(RequestStatus.APPROVED);
+    }
+
+    private int randomRow() {
+        return ThreadLocalRandom.current().nextInt(rows);
+    }
+
+    private static String username(int row) {
+        return "player" + row;
+    }
+
+    // Statuts répartis sur les quatre valeurs, une demande par minute en remontant dans le temps
+    private static void seed(File file, int rows) throws SQLException {
+        String sql = """
+            INSERT INTO whitelist_requests
+            (discord_id, discord_tag, minecraft_username, request_time, status, processed_by, processed_time)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+        """;
+        long now = System.currentTimeMillis();
+        RequestStatus[] statuses = RequestStatus.values();
+
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath())) {
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                for (int row = 0; row < rows; row++) {
+                    RequestStatus status = statuses[row % statuses.length];
+                    long requestTime = now - row * 60_000L;
+
+                    stmt.setString(1, String.valueOf(FIRST_DISCORD_ID + row));
+                    stmt.setString(2, "user#" + row);
+                    stmt.setString(3, username(row));
+                    stmt.setLong(4, requestTime);
+                    stmt.setInt(5, status.getCode());
+                    if (status == RequestStatus.PENDING) {
+                        stmt.setNull(6, Types.VARCHAR);
+                        stmt.setNull(7, Types.INTEGER);
+                    } else {
+                        stmt.setString(6, "admin#0001");
+                        stmt.setLong(7, requestTime + 3_600_000L);
+                    }
+                    stmt.addBatch();
+
+                    if ((row + 1) % SEED_BATCH_SIZE == 0) {
+                        stmt.executeBatch();
+                    }
+                }
+                stmt.executeBatch();
+            }
+
+            connection.commit();
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package fr.yourserver.whitelistbot.loadtest;
+
+import fr.yourserver.whitelistbot.database.WhitelistRequest;
+import fr.yourserver.whitelistbot.discord.DiscordBotManager;
+import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.events.interaction.ModalInteractionEvent;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.events.interaction.component.ButtonInteractionEvent;
+import net.dv8tion.jda.api.interactions.commands.SlashCommandInteraction;
+import net.dv8tion.jda.api.interactions.components.Component;
+import net.dv8tion.jda.api.interactions.components.buttons.Button;
+import net.dv8tion.jda.api.interactions.components.buttons.ButtonInteraction;
+import net.dv8tion.jda.api.interactions.modals.ModalInteraction;
+import net.dv8tion.jda.api.interactions.modals.ModalMapping;
+import net.dv8tion.jda.api.utils.data.DataObject;
+
+import java.awt.Color;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.stream.Stream;
+
+/**
+ * Replays a burst of Discord interactions against the real {@link DiscordBotManager} handlers,
+ * with stand-in JDA events and a stand-in Bukkit server, on a real SQLite database.
+ *
+ * <p>Scenarios are started at a fixed rate (open model, so slow replies show up as queueing):
+ * <ul>
+ *   <li>{@code request}: "Request Whitelist" button, username modal, then "Confirm" button, each step
+ *       sent once the previous one was answered</li>
+ *   <li>{@code approve}: an admin approves one of the confirmed requests</li>
+ *   <li>{@code list}: an admin runs {@code /whitelist-list}</li>
+ * </ul>
+ *
+ * <p>For each interaction type the report gives the time to the first answer (what Discord waits
+ * for, 3 s at most) and to the last REST call made for it, plus error counts.
+ *
+ * <p>Options: {@code --rate <scenarios/s> --duration <s> --mix request=60,approve=25,list=15
+ * --seed <existing rows> --timeout <s>}
+ */
+public final class InteractionLoadTest {
+
+    // Discord fails the interaction if it is not acknowledged within 3 seconds
+    private static final long DISCORD_ACK_DEADLINE_NANOS = TimeUnit.SECONDS.toNanos(3);
+
+    private final int rate;
+    private final int durationSeconds;
+    private final Map<String, Integer> mix;
+    private final int seedRows;
+    private final long timeoutSeconds;
+
+    private final Queue<InteractionProbe> probes = new ConcurrentLinkedQueue<>();
+    private final Queue<CompletableFuture<Void>> scenarios = new ConcurrentLinkedQueue<>();
+    private final Queue<String> awaitingReview = new ConcurrentLinkedQueue<>();
+    private final AtomicLong nextUserId = new AtomicLong(100_000_000_000_000_000L);
+    private final AtomicLong responseNumber = new AtomicLong();
+    private final AtomicLong severeLogs = new AtomicLong();
+    private final AtomicLong sideEffects = new AtomicLong();
+
+    private JDA jda;
+    private DiscordBotManager manager;
+
+    private InteractionLoadTest(Map<String, String> options) {
+        this.rate = Integer.parseInt(options.getOrDefault("rate", "50"));
+        this.durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+        this.mix = parseMix(options.getOrDefault("mix", "request=60,approve=25,list=15"));
+        this.seedRows = Integer.parseInt(options.getOrDefault("seed", "10000"));
+        this.timeoutSeconds = Long.parseLong(options.getOrDefault("timeout", "10"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        new InteractionLoadTest(options).run();
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        Path dataFolder = Files.createTempDirectory("whitelistbot-loadtest");
+        StandInServer server = new StandInServer();
+        server.start();
+
+        StandInPlugin plugin = new StandInPlugin(server.getServer(), dataFolder.toFile());
+        plugin.getLogger().addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                if (record.getLevel().intValue() >= Level.SEVERE.intValue()) {
+                    severeLogs.incrementAndGet();
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+
+        try {
+            plugin.start();
+            seed(plugin);
+
+            // Side effects (admin channel posts, DMs) go through the JDA stand-in
+            jda = Stubs.of(JDA.class, new Stubs.Listener() {
+                @Override
+                public void onTerminal(String call) {
+                    sideEffects.incrementAndGet();
+                }
+            });
+            manager = new DiscordBotManager(plugin, jda);
+
+            System.out.printf(Locale.ROOT, "Running %d scenarios/s for %d s, mix %s, %d existing requests%n",
+                    rate, durationSeconds, mix, seedRows);
+            long started = System.nanoTime();
+            generateLoad();
+            long elapsed = System.nanoTime() - started;
+
+            report(elapsed, server, plugin);
+        } finally {
+            if (manager != null) {
+                manager.shutdown();
+            }
+            plugin.stop();
+            server.stop();
+            deleteRecursively(dataFolder);
+        }
+    }
+
+    private void seed(StandInPlugin plugin) {
+        if (seedRows <= 0) return;
+
+        List<CompletableFuture<Boolean>> saves = new ArrayList<>(seedRows);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < seedRows; i++) {
+            long id = nextUserId.getAndIncrement();
+            saves.add(plugin.getDatabaseManager().saveWhitelistRequestAsync(
+                    new WhitelistRequest(String.valueOf(id), "seed#" + i, "seed" + i, now.minusMinutes(i))));
+        }
+        CompletableFuture.allOf(saves.toArray(new CompletableFuture[0])).join();
+    }
+
+    private void generateLoad() throws InterruptedException {
+        ScheduledExecutorService generator = Executors.newSingleThreadScheduledExecutor();
+        long periodNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, rate);
+
+        generator.scheduleAtFixedRate(() -> scenarios.add(startScenario(pickScenario()).exceptionally(error -> null)),
+                0, periodNanos, TimeUnit.NANOSECONDS);
+        Thread.sleep(TimeUnit.SECONDS.toMillis(durationSeconds));
+        generator.shutdownNow();
+
+        // Let the scenarios already started finish (or time out)
+        CompletableFuture.allOf(scenarios.toArray(new CompletableFuture[0]))
+                .completeOnTimeout(null, timeoutSeconds * 2, TimeUnit.SECONDS)
+                .join();
+    }
+
+    private String pickScenario() {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = ThreadLocalRandom.current().nextInt(Math.max(1, total));
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) return entry.getKey();
+        }
+        return "list";
+    }
+
+    private CompletableFuture<Void> startScenario(String scenario) {
+        switch (scenario) {
+            case "approve": {
+                String discordId = awaitingReview.poll();
+                if (discordId != null) {
+                    return adminButton("admin_approve_" + discordId, "button:admin_approve").answered();
+                }
+                // Nothing to review yet: behave like a new player instead
+                return requestScenario();
+            }
+            case "list":
+                return slashCommand("whitelist-list").answered();
+            default:
+                return requestScenario();
+        }
+    }
+
+    private CompletableFuture<Void> requestScenario() {
+        String discordId = String.valueOf(nextUserId.getAndIncrement());
+        String username = "p" + discordId.substring(discordId.length() - 12);
+
+        return playerButton(discordId, "request_whitelist", "button:request_whitelist").answered()
+                .thenCompose(ignored -> modal(discordId, username).answered())
+                .thenCompose(ignored -> playerButton(discordId, "confirm_request", "button:confirm_request").answered())
+                .thenRun(() -> awaitingReview.add(discordId));
+    }
+
+    // --- Stand-in events -------------------------------------------------------------------------
+
+    private InteractionProbe playerButton(String discordId, String buttonId, String kind) {
+        InteractionProbe probe = new InteractionProbe(kind, timeoutSeconds);
+        ButtonInteraction interaction = Stubs.of(ButtonInteraction.class, Map.of(
+                "getUser", user(discordId, probe),
+                "getMember", member(discordId, false, probe),
+                "getButton", Stubs.of(Button.class, Map.of("getId", buttonId), probe),
+                "getComponentId", buttonId,
+                "getJDA", jda
+        ), probe);
+
+        fire(probe, () -> manager.onButtonInteraction(new ButtonInteractionEvent(jda, responseNumber.incrementAndGet(), interaction)));
+        return probe;
+    }
+
+    private InteractionProbe adminButton(String buttonId, String kind) {
+        InteractionProbe probe = new InteractionProbe(kind, timeoutSeconds);
+        String adminId = "900000000000000099";
+
+        // The admin embed the buttons were attached to
+        Message message = Stubs.of(Message.class, Map.of(
+                "getEmbeds", List.of(new EmbedBuilder()
+                        .setTitle("📋 New Whitelist Request")
+                        .addField("🎮 Minecraft Username", "player", true)
+                        .addField("📊 Status", "🟠 Pending", true)
+                        .setColor(Color.ORANGE)
+                        .build())
+        ), probe);
+
+        ButtonInteraction interaction = Stubs.of(ButtonInteraction.class, Map.of(
+                "getUser", user(adminId, probe),
+                "getMember", member(adminId, true, probe),
+                "getButton", Stubs.of(Button.class, Map.of("getId", buttonId), probe),
+                "getComponentId", buttonId,
+                "getMessage", message,
+                "getJDA", jda
+        ), probe);
+
+        fire(probe, () -> manager.onButtonInteraction(new ButtonInteractionEvent(jda, responseNumber.incrementAndGet(), interaction)));
+        return probe;
+    }
+
+    private InteractionProbe modal(String discordId, String username) {
+        InteractionProbe probe = new InteractionProbe("modal:whitelist_modal", timeoutSeconds);
+        ModalMapping value = new ModalMapping(DataObject.empty()
+                .put("custom_id", "minecraft_username")
+                .put("value", username)
+                .put("type", Component.Type.TEXT_INPUT.getKey()));
+
+        ModalInteraction interaction = Stubs.of(ModalInteraction.class, Map.of(
+                "getModalId", "whitelist_modal",
+                "getValues", List.of(value),
+                "getValue", (Stubs.Answer) args -> "minecraft_username".equals(args[0]) ? value : null,
+                "getUser", user(discordId, probe),
+                "getMember", member(discordId, false, probe),
+                "getJDA", jda
+        ), probe);
+
+        fire(probe, () -> manager.onModalInteraction(new ModalInteractionEvent(jda, responseNumber.incrementAndGet(), interaction)));
+        return probe;
+    }
+
+    private InteractionProbe slashCommand(String name) {
+        InteractionProbe probe = new InteractionProbe("slash:" + name, timeoutSeconds);
+        String adminId = "900000000000000099";
+
+        SlashCommandInteraction interaction = Stubs.of(SlashCommandInteraction.class, Map.of(
+                "getName", name,
+                "getFullCommandName", name,
+                "getUser", user(adminId, probe),
+                "getMember", member(adminId, true, probe),
+                "getJDA", jda
+        ), probe);
+
+        fire(probe, () -> manager.onSlashCommandInteraction(new SlashCommandInteractionEvent(jda, responseNumber.incrementAndGet(), interaction)));
+        return probe;
+    }
+
+    private User user(String discordId, Stubs.Listener listener) {
+        return Stubs.of(User.class, Map.of(
+                "getId", discordId,
+                "getIdLong", Long.parseLong(discordId),
+                "getName", "user" + discordId,
+                "getAsTag", "user" + discordId + "#0001"
+        ), listener);
+    }
+
+    private Member member(String discordId, boolean admin, Stubs.Listener listener) {
+        List<Role> roles = admin
+                ? List.of(Stubs.of(Role.class, Map.of("getId", StandInPlugin.ADMIN_ROLE_ID), listener))
+                : List.of();
+        return Stubs.of(Member.class, Map.of(
+                "getId", discordId,
+                "getUser", user(discordId, listener),
+                "getRoles", roles
+        ), listener);
+    }
+
+    private void fire(InteractionProbe probe, Runnable dispatch) {
+        probes.add(probe);
+        probe.start();
+        try {
+            dispatch.run();
+        } catch (RuntimeException e) {
+            probe.fail(e);
+        }
+    }
+
+    // --- Report ----------------------------------------------------------------------------------
+
+    private void report(long elapsedNanos, StandInServer server, StandInPlugin plugin) {
+        Map<String, List<InteractionProbe>> byKind = new LinkedHashMap<>();
+        for (InteractionProbe probe : probes) {
+            byKind.computeIfAbsent(probe.getKind(), kind -> new ArrayList<>()).add(probe);
+        }
+
+        System.out.println();
+        System.out.printf(Locale.ROOT, "%-26s %8s %7s %6s %6s %6s | %28s | %28s%n",
+                "interaction", "count", "no-ack", "late", "error", "busy",
+                "first answer p50/p99/max ms", "last call p50/p99/max ms");
+
+        long total = 0;
+        for (Map.Entry<String, List<InteractionProbe>> entry : byKind.entrySet()) {
+            List<InteractionProbe> kindProbes = entry.getValue();
+            List<Long> firstAnswers = new ArrayList<>();
+            List<Long> lastCalls = new ArrayList<>();
+            int noAck = 0, late = 0, errors = 0, busy = 0;
+
+            for (InteractionProbe probe : kindProbes) {
+                if (!probe.isAnswered()) {
+                    noAck++;
+                    continue;
+                }
+                firstAnswers.add(probe.getFirstAnswerNanos());
+                lastCalls.add(probe.getLastCallNanos());
+                if (probe.getFirstAnswerNanos() > DISCORD_ACK_DEADLINE_NANOS) late++;
+                if (probe.isErrorReply()) errors++;
+                if (probe.isBusyReply()) busy++;
+            }
+            total += kindProbes.size();
+
+            System.out.printf(Locale.ROOT, "%-26s %8d %7d %6d %6d %6d | %28s | %28s%n",
+                    entry.getKey(), kindProbes.size(), noAck, late, errors, busy,
+                    percentiles(firstAnswers), percentiles(lastCalls));
+        }
+
+        double seconds = elapsedNanos / 1e9;
+        System.out.println();
+        System.out.printf(Locale.ROOT, "Interactions: %d in %.1f s (%.1f/s)%n", total, seconds, total / seconds);
+        System.out.printf(Locale.ROOT, "SEVERE log records: %d, side-effect REST calls (admin posts, DMs): %d%n",
+                severeLogs.get(), sideEffects.get());
+        System.out.printf(Locale.ROOT, "Main thread: %d tasks, max backlog %d at a tick%n",
+                server.getMainThreadTaskCount(), server.getMaxMainThreadBacklog());
+        System.out.printf(Locale.ROOT, "Database: %d writes still queued, %d cached requests%n",
+                plugin.getDatabaseManager().getPendingWriteCount(), plugin.getDatabaseManager().getCache().size());
+    }
+
+    private static String percentiles(List<Long> nanos) {
+        if (nanos.isEmpty()) return "-";
+        Collections.sort(nanos);
+        return String.format(Locale.ROOT, "%.1f / %.1f / %.1f",
+                millis(nanos, 0.50), millis(nanos, 0.99), nanos.get(nanos.size() - 1) / 1e6);
+    }
+
+    private static double millis(List<Long> sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(sorted.size() - 1, index))) / 1e6;
+    }
+
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] pair = part.split("=");
+            mix.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+        }
+        return mix;
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package fr.yourserver.whitelistbot.loadtest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Follows one stand-in interaction: when it was sent, when the handler first answered
+ * (reply, defer or modal) and when it made its last REST call, and what kind of answer it was.
+ */
+final class InteractionProbe implements Stubs.Listener {
+
+    private final String kind;
+    private final long timeoutSeconds;
+    private final CompletableFuture<Void> answered = new CompletableFuture<>();
+
+    private volatile long startNanos;
+    private volatile long firstAnswerNanos = -1;
+    private volatile long lastCallNanos = -1;
+    private volatile boolean errorReply;
+    private volatile boolean busyReply;
+
+    InteractionProbe(String kind, long timeoutSeconds) {
+        this.kind = kind;
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    void start() {
+        startNanos = System.nanoTime();
+    }
+
+    void fail(Throwable error) {
+        errorReply = true;
+        answered.completeExceptionally(error);
+    }
+
+    @Override
+    public synchronized void onTerminal(String call) {
+        long elapsed = System.nanoTime() - startNanos;
+        if (firstAnswerNanos < 0) {
+            firstAnswerNanos = elapsed;
+        }
+        lastCallNanos = elapsed;
+        answered.complete(null);
+    }
+
+    @Override
+    public void onText(String text) {
+        if (text.startsWith("❌")) {
+            errorReply = true;
+        } else if (text.startsWith("⏳ The bot is busy")) {
+            busyReply = true;
+        }
+    }
+
+    /**
+     * Completes on the first answer, or exceptionally when there is none within the timeout.
+     */
+    CompletableFuture<Void> answered() {
+        return answered.orTimeout(timeoutSeconds, TimeUnit.SECONDS);
+    }
+
+    String getKind() {
+        return kind;
+    }
+
+    boolean isAnswered() {
+        return firstAnswerNanos >= 0;
+    }
+
+    long getFirstAnswerNanos() {
+        return firstAnswerNanos;
+    }
+
+    long getLastCallNanos() {
+        return lastCallNanos;
+    }
+
+    boolean isErrorReply() {
+        return errorReply;
+    }
+
+    boolean isBusyReply() {
+        return busyReply;
+    }
+}
@@ -0,0 +1,58 @@
+package fr.yourserver.whitelistbot.loadtest;
+
+import fr.yourserver.whitelistbot.WhitelistBot;
+import org.bukkit.Server;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * WhitelistBot instance created outside a server: the default config.yml with stand-in
+ * Discord IDs, and the real SQLite database in a temporary data folder. Discord is not started.
+ */
+public class StandInPlugin extends WhitelistBot {
+
+    public static final String ADMIN_ROLE_ID = "900000000000000001";
+    public static final String ADMIN_CHANNEL_ID = "900000000000000002";
+    public static final String REQUEST_CHANNEL_ID = "900000000000000003";
+
+    @SuppressWarnings("deprecation")
+    public StandInPlugin(Server server, File dataFolder) {
+        super(new JavaPluginLoader(server),
+                new PluginDescriptionFile("WhitelistBot", "load-test", WhitelistBot.class.getName()),
+                dataFolder,
+                new File(dataFolder, "WhitelistBot.jar"));
+    }
+
+    public void start() {
+        saveDefaultConfig();
+        getConfig().set("discord-token", "load-test");
+        getConfig().set("discord-channel-admin", ADMIN_CHANNEL_ID);
+        getConfig().set("discord-channel-request", REQUEST_CHANNEL_ID);
+        getConfig().set("allowed-roles", List.of(ADMIN_ROLE_ID));
+
+        loadConfig();
+        initDatabase();
+        if (getDatabaseManager() == null) {
+            throw new IllegalStateException("Database failed to start, see the log above");
+        }
+        // The stand-in server is in offline mode: UUIDs are computed, Mojang is never called
+        initUuidResolver();
+        initRequestLimiter();
+        initWhitelistQueue();
+    }
+
+    public void stop() {
+        if (getWhitelistQueue() != null) {
+            getWhitelistQueue().shutdown();
+        }
+        if (getAsyncDatabase() != null) {
+            getAsyncDatabase().shutdown();
+        }
+        if (getDatabaseManager() != null) {
+            getDatabaseManager().close();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package fr.yourserver.whitelistbot.loadtest;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.Server;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Minimal Bukkit server for the load test: a main thread that drains sync tasks once per
+ * 50 ms tick (like a real server) followed by repeating tasks, an async pool, and players whose
+ * whitelist flag is a no-op.
+ */
+public final class StandInServer {
+
+    private static final long TICK_MILLIS = 50;
+
+    private final Logger logger = Logger.getLogger("StandInServer");
+    private final Queue<Runnable> mainThreadTasks = new ConcurrentLinkedQueue<>();
+    private final List<Runnable> everyTick = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService mainThread = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Server thread");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService asyncPool = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "Craft Scheduler Thread");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong mainThreadTaskCount = new AtomicLong();
+    private final AtomicInteger maxMainThreadBacklog = new AtomicInteger();
+    private final Server server;
+
+    public StandInServer() {
+        Stubs.Listener ignored = Stubs.IGNORE;
+
+        BukkitScheduler scheduler = Stubs.of(BukkitScheduler.class, Map.of(
+                "runTask", (Stubs.Answer) args -> {
+                    if (args[1] instanceof Runnable task) {
+                        mainThreadTasks.add(task);
+                    }
+                    return Stubs.of(BukkitTask.class, ignored);
+                },
+                // Repeating tasks run every tick, whatever their period
+                "runTaskTimer", (Stubs.Answer) args -> {
+                    if (args[1] instanceof Runnable task) {
+                        everyTick.add(task);
+                    }
+                    return Stubs.of(BukkitTask.class, ignored);
+                },
+                "runTaskAsynchronously", (Stubs.Answer) args -> {
+                    if (args[1] instanceof Runnable task) {
+                        asyncPool.execute(task);
+                    }
+                    return Stubs.of(BukkitTask.class, ignored);
+                }
+        ), ignored);
+
+        this.server = Stubs.of(Server.class, Map.of(
+                "getLogger", logger,
+                "getName", "StandInServer",
+                "getVersion", "load-test",
+                "getBukkitVersion", "1.20.4-R0.1-SNAPSHOT",
+                "getScheduler", scheduler,
+                "getPluginManager", Stubs.of(PluginManager.class, ignored),
+                "getOfflinePlayer", (Stubs.Answer) args -> Stubs.of(OfflinePlayer.class, ignored),
+                "isPrimaryThread", (Stubs.Answer) args -> Thread.currentThread().getName().equals("Server thread")
+        ), ignored);
+    }
+
+    public void start() {
+        Bukkit.setServer(server);
+        mainThread.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private void tick() {
+        int backlog = mainThreadTasks.size();
+        maxMainThreadBacklog.accumulateAndGet(backlog, Math::max);
+
+        Runnable task;
+        while ((task = mainThreadTasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.warning("Main thread task failed: " + e);
+            }
+            mainThreadTaskCount.incrementAndGet();
+        }
+
+        for (Runnable repeating : everyTick) {
+            try {
+                repeating.run();
+            } catch (RuntimeException e) {
+                logger.warning("Repeating task failed: " + e);
+            }
+        }
+    }
+
+    public Server getServer() {
+        return server;
+    }
+
+    public long getMainThreadTaskCount() {
+        return mainThreadTaskCount.get();
+    }
+
+    public int getMaxMainThreadBacklog() {
+        return maxMainThreadBacklog.get();
+    }
+
+    public void stop() {
+        mainThread.shutdownNow();
+        asyncPool.shutdownNow();
+    }
+}
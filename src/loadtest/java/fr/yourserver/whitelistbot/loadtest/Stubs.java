@@ -0,0 +1,209 @@
+package fr.yourserver.whitelistbot.loadtest;
+
+import net.dv8tion.jda.api.requests.RestAction;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-process stand-ins for JDA and Bukkit interfaces, built with {@link Proxy}.
+ *
+ * <p>Every interface method answers with a neutral value: another stub for interface return types
+ * (resolving generics, so {@code retrieveUserById(id)} yields a {@code RestAction<User>} whose
+ * {@code queue(success)} receives a {@code User} stub), the stub itself for fluent builder methods,
+ * empty collections, zero, false or null. Methods listed in {@code answers} return fixed values instead.
+ *
+ * <p>Terminal REST calls ({@code queue}, {@code complete}, {@code submit}) and text arguments are
+ * reported to the {@link Listener} given at creation, so a load test can see when and how a handler answered.
+ */
+public final class Stubs {
+
+    private static final Set<String> TERMINAL_METHODS = Set.of("queue", "complete", "submit", "queueAfter", "completeAfter", "submitAfter");
+
+    private Stubs() {
+    }
+
+    /**
+     * Notified for every call made on a stub, or on any stub it handed out.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onTerminal(String call);
+
+        default void onText(String text) {
+        }
+    }
+
+    public static final Listener IGNORE = call -> { };
+
+    /**
+     * Creates a stub of {@code type}. Values in {@code answers} are returned as is, or invoked
+     * when they are an {@link Answer}.
+     */
+    public static <T> T of(Class<T> type, Map<String, ?> answers, Listener listener) {
+        return type.cast(create(type, answers, listener));
+    }
+
+    public static <T> T of(Class<T> type, Listener listener) {
+        return of(type, Map.of(), listener);
+    }
+
+    @FunctionalInterface
+    public interface Answer {
+        Object answer(Object[] args);
+    }
+
+    private static Object create(Type type, Map<String, ?> answers, Listener listener) {
+        Class<?> raw = rawType(type);
+        Map<TypeVariable<?>, Type> bindings = new HashMap<>();
+        bind(type, bindings);
+        return Proxy.newProxyInstance(Stubs.class.getClassLoader(), new Class<?>[]{raw},
+                new StubHandler(raw, bindings, answers, listener));
+    }
+
+    private static final class StubHandler implements InvocationHandler {
+        private final Class<?> self;
+        private final Map<TypeVariable<?>, Type> bindings;
+        private final Map<String, ?> answers;
+        private final Listener listener;
+
+        private StubHandler(Class<?> self, Map<TypeVariable<?>, Type> bindings, Map<String, ?> answers,
+                            Listener listener) {
+            this.self = self;
+            this.bindings = bindings;
+            this.answers = answers;
+            this.listener = listener;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            String name = method.getName();
+            Object[] arguments = args != null ? args : new Object[0];
+
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (name) {
+                    case "equals" -> proxy == arguments[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> "Stub[" + self.getSimpleName() + "]";
+                };
+            }
+
+            for (Object argument : arguments) {
+                if (argument instanceof CharSequence text) {
+                    listener.onText(text.toString());
+                }
+            }
+
+            if (answers.containsKey(name)) {
+                Object value = answers.get(name);
+                return value instanceof Answer answer ? answer.answer(arguments) : value;
+            }
+
+            if (TERMINAL_METHODS.contains(name) && RestAction.class.isAssignableFrom(self)) {
+                return terminal(name, arguments);
+            }
+
+            return neutralValue(proxy, resolve(method.getGenericReturnType(), bindings));
+        }
+
+        // queue(success, failure) completes immediately with a stub of the action's result type
+        @SuppressWarnings("unchecked")
+        private Object terminal(String name, Object[] arguments) {
+            listener.onTerminal(self.getSimpleName() + "." + name);
+
+            Type resultType = resolve(RestAction.class.getTypeParameters()[0], bindings);
+            Object result = resultType instanceof TypeVariable<?> ? null : neutralValue(null, resultType);
+
+            if (name.startsWith("queue")) {
+                for (Object argument : arguments) {
+                    if (argument instanceof Consumer<?> success) {
+                        ((Consumer<Object>) success).accept(result);
+                        break;
+                    }
+                }
+                return null;
+            }
+            if (name.startsWith("submit")) {
+                return CompletableFuture.completedFuture(result);
+            }
+            return result;
+        }
+
+        private Object neutralValue(Object proxy, Type type) {
+            Class<?> raw = rawType(type);
+
+            if (raw == void.class || raw == Void.class) return null;
+            if (raw == boolean.class || raw == Boolean.class) return false;
+            if (raw == long.class || raw == Long.class) return 0L;
+            if (raw == int.class || raw == Integer.class) return 0;
+            if (raw == short.class || raw == Short.class) return (short) 0;
+            if (raw == byte.class || raw == Byte.class) return (byte) 0;
+            if (raw == double.class || raw == Double.class) return 0d;
+            if (raw == float.class || raw == Float.class) return 0f;
+            if (raw == char.class || raw == Character.class) return '\0';
+            if (raw == String.class) return "stub";
+            if (raw == Optional.class) return Optional.empty();
+            if (raw == Stream.class) return Stream.empty();
+            if (raw == CompletableFuture.class) return CompletableFuture.completedFuture(null);
+            if (List.class.isAssignableFrom(raw) || raw == Collection.class) return new ArrayList<>();
+            if (Set.class.isAssignableFrom(raw)) return Collections.emptySet();
+            if (Map.class.isAssignableFrom(raw)) return Collections.emptyMap();
+
+            // Fluent builders return their own type: hand back the same stub
+            if (proxy != null && raw.isAssignableFrom(self)) return proxy;
+            if (raw.isInterface()) return create(type, Map.of(), listener);
+            return null;
+        }
+    }
+
+    private static Class<?> rawType(Type type) {
+        if (type instanceof Class<?> clazz) return clazz;
+        if (type instanceof ParameterizedType parameterized) return (Class<?>) parameterized.getRawType();
+        if (type instanceof WildcardType wildcard) return rawType(wildcard.getUpperBounds()[0]);
+        if (type instanceof TypeVariable<?> variable) return rawType(variable.getBounds()[0]);
+        return Object.class;
+    }
+
+    // Records the actual type arguments of every generic supertype, e.g. RestAction.T -> User
+    private static void bind(Type type, Map<TypeVariable<?>, Type> bindings) {
+        Class<?> raw = rawType(type);
+        if (type instanceof ParameterizedType parameterized) {
+            TypeVariable<?>[] variables = raw.getTypeParameters();
+            Type[] arguments = parameterized.getActualTypeArguments();
+            for (int i = 0; i < variables.length; i++) {
+                bindings.putIfAbsent(variables[i], resolve(arguments[i], bindings));
+            }
+        }
+        for (Type parent : raw.getGenericInterfaces()) {
+            bind(parent, bindings);
+        }
+    }
+
+    private static Type resolve(Type type, Map<TypeVariable<?>, Type> bindings) {
+        Type current = type;
+        // Bounded: a variable may be bound to another variable of a subtype
+        for (int i = 0; i < 8 && current instanceof TypeVariable<?> && bindings.containsKey(current); i++) {
+            current = bindings.get(current);
+        }
+        if (current instanceof WildcardType wildcard) {
+            return resolve(wildcard.getUpperBounds()[0], bindings);
+        }
+        return current;
+    }
+}
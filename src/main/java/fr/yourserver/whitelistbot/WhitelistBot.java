@@ -1,17 +1,53 @@
 package fr.yourserver.whitelistbot;
 
+import org.bukkit.plugin.PluginDescriptionFile;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+import org.bukkit.scheduler.BukkitTask;
+import fr.yourserver.whitelistbot.database.AsyncDatabaseManager;
 import fr.yourserver.whitelistbot.database.DatabaseManager;
+import fr.yourserver.whitelistbot.database.RetentionJob;
 import fr.yourserver.whitelistbot.discord.DiscordBotManager;
 import fr.yourserver.whitelistbot.commands.LookupCommand;
+import fr.yourserver.whitelistbot.commands.ReloadCommand;
+import fr.yourserver.whitelistbot.metrics.MetricsHttpServer;
+import fr.yourserver.whitelistbot.metrics.MetricsRegistry;
+import fr.yourserver.whitelistbot.mojang.TokenBucket;
+import fr.yourserver.whitelistbot.mojang.UsernameVerifier;
+import fr.yourserver.whitelistbot.mojang.UuidResolver;
+import fr.yourserver.whitelistbot.whitelist.RequestRateLimiter;
+import fr.yourserver.whitelistbot.whitelist.WhitelistMutationQueue;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
 
 public class WhitelistBot extends JavaPlugin {
     
     private static WhitelistBot instance;
     private DatabaseManager databaseManager;
+    private AsyncDatabaseManager asyncDatabase;
+    private UuidResolver uuidResolver;
+    private UsernameVerifier usernameVerifier;
+    private WhitelistMutationQueue whitelistQueue;
+    private RetentionJob retentionJob;
+    private RequestRateLimiter requestLimiter;
+    private BukkitTask requestLimiterPruning;
     private DiscordBotManager discordBotManager;
+    private final MetricsRegistry metrics = new MetricsRegistry();
+    private MetricsHttpServer metricsServer;
     private String prefix;
     
+    public WhitelistBot() {
+        super();
+    }
+    
+    // Constructeur hors serveur (banc de charge) : le plugin n'est pas chargé par le PluginClassLoader
+    protected WhitelistBot(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+        super(loader, description, dataFolder, file);
+    }
+    
     @Override
     public void onEnable() {
         instance = this;
@@ -23,27 +59,61 @@ public class WhitelistBot extends JavaPlugin {
         // Initialiser la base de données
         initDatabase();
         
+        // Limite de demandes par utilisateur, rechargée depuis la base
+        initRequestLimiter();
+        
+        // Résolution pseudo -> UUID hors du thread principal, vérification des pseudos
+        initUuidResolver();
+        initUsernameVerifier();
+        
+        // Modifications de la whitelist appliquées par lots à chaque tick
+        initWhitelistQueue();
+        
+        // Suppression périodique des anciennes demandes (cleanup.*)
+        initRetentionJob();
+        
         // Initialiser le bot Discord
         initDiscordBot();
         
         // Enregistrer les commandes
         registerCommands();
         
+        // Exposer les métriques (optionnel)
+        initMetricsServer();
+        
         getLogger().info(prefix + " Plugin activé avec succès !");
     }
     
     @Override
     public void onDisable() {
+        if (metricsServer != null) {
+            metricsServer.stop();
+        }
         if (discordBotManager != null) {
             discordBotManager.shutdown();
         }
+        if (whitelistQueue != null) {
+            whitelistQueue.shutdown();
+        }
+        if (retentionJob != null) {
+            retentionJob.shutdown();
+        }
+        if (requestLimiterPruning != null) {
+            requestLimiterPruning.cancel();
+        }
+        if (usernameVerifier != null) {
+            usernameVerifier.shutdown();
+        }
+        if (asyncDatabase != null) {
+            asyncDatabase.shutdown();
+        }
         if (databaseManager != null) {
             databaseManager.close();
         }
         getLogger().info(prefix + " Plugin désactivé !");
     }
     
-    private void loadConfig() {
+    protected void loadConfig() {
         prefix = getConfig().getString("prefix", "[WhitelistBot]");
         
         // Vérifier la présence du token Discord
@@ -62,9 +132,21 @@ public class WhitelistBot extends JavaPlugin {
         }
     }
     
-    private void initDatabase() {
+    protected void initDatabase() {
         try {
             databaseManager = new DatabaseManager(this);
+            // Pool dédié aux accès base asynchrones, indépendant du pool asynchrone de Bukkit
+            asyncDatabase = new AsyncDatabaseManager(
+                    databaseManager,
+                    getLogger(),
+                    prefix,
+                    getConfig().getInt("database.async.threads", getConfig().getInt("database.read-pool.size", 4)),
+                    getConfig().getInt("database.async.queue-capacity", 512)
+            );
+            metrics.gauge("whitelistbot_db_async_queue_size", "Database calls waiting for an async thread",
+                    asyncDatabase::getQueuedTaskCount);
+            metrics.gauge("whitelistbot_db_async_active", "Database calls running on async threads",
+                    asyncDatabase::getActiveCount);
             getLogger().info(prefix + " Base de données SQLite initialisée !");
         } catch (Exception e) {
             getLogger().severe(prefix + " Erreur lors de l'initialisation de la base de données : " + e.getMessage());
@@ -72,18 +154,148 @@ public class WhitelistBot extends JavaPlugin {
         }
     }
     
+    protected void initUuidResolver() {
+        if (asyncDatabase == null) return;
+        
+        String mode = getConfig().getString("uuid-resolution.mode", "auto").toLowerCase();
+        boolean onlineMode = switch (mode) {
+            case "online" -> true;
+            case "offline" -> false;
+            default -> getServer().getOnlineMode();
+        };
+        
+        uuidResolver = new UuidResolver(
+                asyncDatabase,
+                getLogger(),
+                prefix,
+                onlineMode,
+                getConfig().getString("uuid-resolution.profile-url", "https://api.mojang.com/users/profiles/minecraft/{username}"),
+                TimeUnit.HOURS.toMillis(getConfig().getLong("uuid-resolution.ttl-hours", 720)),
+                getConfig().getLong("uuid-resolution.timeout-ms", 5000),
+                metrics
+        );
+    }
+    
+    protected void initUsernameVerifier() {
+        // Un serveur hors-ligne accepte des pseudos sans compte Mojang : rien à vérifier
+        if (uuidResolver == null || !uuidResolver.isOnlineMode()
+                || !getConfig().getBoolean("security.verify-minecraft-usernames", true)) {
+            return;
+        }
+        
+        String path = "security.username-verification.";
+        usernameVerifier = new UsernameVerifier(
+                getLogger(),
+                prefix,
+                uuidResolver,
+                getConfig().getString(path + "endpoint", "https://api.minecraftservices.com/minecraft/profile/lookup/bulk/byname"),
+                getConfig().getLong(path + "batch-window-ms", 50),
+                TimeUnit.HOURS.toMillis(getConfig().getLong(path + "valid-ttl-hours", 24)),
+                TimeUnit.MINUTES.toMillis(getConfig().getLong(path + "invalid-ttl-minutes", 10)),
+                getConfig().getInt(path + "max-cached-names", 10000),
+                new TokenBucket(
+                        getConfig().getInt(path + "rate-limit.burst", 10),
+                        getConfig().getDouble(path + "rate-limit.requests-per-minute", 60)),
+                getConfig().getLong(path + "timeout-ms", 5000),
+                getConfig().getLong(path + "max-wait-ms", 10000),
+                metrics
+        );
+    }
+    
+    protected void initWhitelistQueue() {
+        long budgetMicros = (long) (getConfig().getDouble("whitelist-queue.tick-budget-ms", 2) * 1000);
+        whitelistQueue = new WhitelistMutationQueue(this, TimeUnit.MICROSECONDS.toNanos(budgetMicros), metrics);
+        whitelistQueue.start();
+    }
+    
+    protected void initRequestLimiter() {
+        requestLimiter = new RequestRateLimiter(
+                getConfig().getInt("security.max-requests-per-day", 2),
+                TimeUnit.DAYS.toMillis(1),
+                metrics
+        );
+        if (!requestLimiter.isEnabled() || databaseManager == null) {
+            return;
+        }
+        
+        long window = requestLimiter.getWindowMillis();
+        try {
+            databaseManager.getRequestAttempts(System.currentTimeMillis() - window)
+                    .forEach((discordId, times) -> times.forEach(time -> requestLimiter.load(discordId, time)));
+        } catch (SQLException e) {
+            getLogger().warning(prefix + " Impossible de recharger les tentatives de demande : " + e.getMessage());
+        }
+        
+        // Toutes les heures : oublier les utilisateurs et les lignes sortis de la fenêtre
+        long hourTicks = TimeUnit.HOURS.toSeconds(1) * 20;
+        requestLimiterPruning = getServer().getScheduler().runTaskTimerAsynchronously(this, () -> {
+            long cutoff = System.currentTimeMillis() - window;
+            requestLimiter.prune(System.currentTimeMillis());
+            databaseManager.deleteRequestAttemptsAsync(cutoff).exceptionally(error -> {
+                getLogger().warning(prefix + " Impossible de purger les tentatives de demande : "
+                        + AsyncDatabaseManager.unwrap(error).getMessage());
+                return null;
+            });
+        }, hourTicks, hourTicks);
+    }
+    
+    protected void initRetentionJob() {
+        if (databaseManager == null) {
+            return;
+        }
+        
+        retentionJob = new RetentionJob(
+                this,
+                databaseManager,
+                prefix,
+                getConfig().getInt("cleanup.remove-denied-after-days", 30),
+                getConfig().getInt("cleanup.remove-processed-after-days", 90),
+                getConfig().getInt("cleanup.chunk-size", 200),
+                getConfig().getInt("cleanup.vacuum-pages-per-step", 500),
+                metrics
+        );
+        if (retentionJob.isEnabled()) {
+            // 20 ticks par seconde
+            retentionJob.start(TimeUnit.HOURS.toSeconds(Math.max(1, getConfig().getLong("cleanup.interval-hours", 6))) * 20);
+        }
+    }
+    
     private void initDiscordBot() {
+        // Connexion en arrière-plan : le démarrage du serveur ne dépend plus de Discord
+        discordBotManager = new DiscordBotManager(this);
+        discordBotManager.start();
+        getLogger().info(prefix + " Bot Discord en cours de connexion...");
+    }
+    
+    private void initMetricsServer() {
+        if (!getConfig().getBoolean("metrics.http.enabled", false)) return;
+        
+        String bind = getConfig().getString("metrics.http.bind", "127.0.0.1");
+        int port = getConfig().getInt("metrics.http.port", 9464);
         try {
-            discordBotManager = new DiscordBotManager(this);
-            getLogger().info(prefix + " Bot Discord démarré avec succès !");
-        } catch (Exception e) {
-            getLogger().severe(prefix + " Erreur lors du démarrage du bot Discord : " + e.getMessage());
-            getServer().getPluginManager().disablePlugin(this);
+            metricsServer = new MetricsHttpServer(metrics, bind, port);
+            metricsServer.start();
+            getLogger().info(prefix + " Métriques Prometheus disponibles sur http://" + bind + ":" + port + "/metrics");
+        } catch (IOException e) {
+            getLogger().warning(prefix + " Impossible de démarrer le serveur de métriques sur " + bind + ":" + port + " : " + e.getMessage());
         }
     }
     
+    /**
+     * Relit config.yml et recompile les messages du bot Discord, sans redémarrer le serveur.
+     */
+    public void reloadMessages() {
+        reloadConfig();
+        prefix = getConfig().getString("prefix", "[WhitelistBot]");
+        if (discordBotManager != null) {
+            discordBotManager.reloadMessages();
+        }
+        getLogger().info(prefix + " Messages rechargés depuis config.yml");
+    }
+    
     private void registerCommands() {
         getCommand("lookup").setExecutor(new LookupCommand(this));
+        getCommand("whitelistbot").setExecutor(new ReloadCommand(this));
     }
     
     // Getters
@@ -95,6 +307,30 @@ public class WhitelistBot extends JavaPlugin {
         return databaseManager;
     }
     
+    public AsyncDatabaseManager getAsyncDatabase() {
+        return asyncDatabase;
+    }
+    
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+    
+    public UuidResolver getUuidResolver() {
+        return uuidResolver;
+    }
+    
+    public UsernameVerifier getUsernameVerifier() {
+        return usernameVerifier;
+    }
+    
+    public RequestRateLimiter getRequestLimiter() {
+        return requestLimiter;
+    }
+    
+    public WhitelistMutationQueue getWhitelistQueue() {
+        return whitelistQueue;
+    }
+    
     public DiscordBotManager getDiscordBotManager() {
         return discordBotManager;
     }
@@ -1,7 +1,8 @@
 package fr.yourserver.whitelistbot.commands;
 
 import fr.yourserver.whitelistbot.WhitelistBot;
-import fr.yourserver.whitelistbot.database.WhitelistRequest;
+import fr.yourserver.whitelistbot.database.AsyncDatabaseManager;
+import fr.yourserver.whitelistbot.database.RequestStatus;
 import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -36,60 +37,59 @@ public class LookupCommand implements CommandExecutor, TabCompleter {
         
         String minecraftUsername = args[0];
         
-        // Rechercher de manière asynchrone
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                WhitelistRequest request = plugin.getDatabaseManager().getRequestByMinecraftUsername(minecraftUsername);
-                
-                // Retourner au thread principal pour envoyer le message
-                plugin.getServer().getScheduler().runTask(plugin, () -> {
-                    if (request == null) {
-                        sender.sendMessage(ChatColor.RED + "No requests found for the player: " + ChatColor.YELLOW + minecraftUsername);
-                        return;
-                    }
-                    
-                    // Afficher les informations
-                    sender.sendMessage(ChatColor.GOLD + "========== " + ChatColor.WHITE + "Informations de " + minecraftUsername + ChatColor.GOLD + " ==========");
-                    sender.sendMessage(ChatColor.AQUA + "Pseudo Minecraft: " + ChatColor.WHITE + request.getMinecraftUsername());
-                    sender.sendMessage(ChatColor.AQUA + "User Discord: " + ChatColor.WHITE + request.getDiscordTag() + 
-                                     ChatColor.GRAY + " (" + request.getDiscordId() + ")");
-                    sender.sendMessage(ChatColor.AQUA + "Date of application: " + ChatColor.WHITE + request.getFormattedRequestTime());
-                    
-                    // Couleur du statut selon l'état
-                    ChatColor statusColor = getStatusColor(request.getStatus());
-                    sender.sendMessage(ChatColor.AQUA + "Statut: " + statusColor + request.getStatus());
-                    
-                    if (request.getProcessedBy() != null) {
-                        sender.sendMessage(ChatColor.AQUA + "Treated by: " + ChatColor.WHITE + request.getProcessedBy());
-                        sender.sendMessage(ChatColor.AQUA + "Processing date: " + ChatColor.WHITE + request.getFormattedProcessedTime());
-                    }
-                    
-                    sender.sendMessage(ChatColor.GOLD + "================================================");
-                });
-                
-            } catch (Exception e) {
-                plugin.getLogger().severe("Error while searching for " + minecraftUsername + ": " + e.getMessage());
+        // Rechercher de manière asynchrone (pool dédié de la base)
+        plugin.getAsyncDatabase().getRequestByMinecraftUsername(minecraftUsername).whenComplete((request, error) -> {
+            if (error != null) {
+                plugin.getLogger().severe("Error while searching for " + minecraftUsername + ": " + AsyncDatabaseManager.unwrap(error).getMessage());
                 
                 plugin.getServer().getScheduler().runTask(plugin, () -> {
                     sender.sendMessage(ChatColor.RED + "Error during search. Check the console for more details.");
                 });
+                return;
             }
+            
+            // Retourner au thread principal pour envoyer le message
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                if (request == null) {
+                    sender.sendMessage(ChatColor.RED + "No requests found for the player: " + ChatColor.YELLOW + minecraftUsername);
+                    return;
+                }
+                
+                // Afficher les informations
+                sender.sendMessage(ChatColor.GOLD + "========== " + ChatColor.WHITE + "Informations de " + minecraftUsername + ChatColor.GOLD + " ==========");
+                sender.sendMessage(ChatColor.AQUA + "Pseudo Minecraft: " + ChatColor.WHITE + request.getMinecraftUsername());
+                sender.sendMessage(ChatColor.AQUA + "User Discord: " + ChatColor.WHITE + request.getDiscordTag() + 
+                                 ChatColor.GRAY + " (" + request.getDiscordId() + ")");
+                sender.sendMessage(ChatColor.AQUA + "Date of application: " + ChatColor.WHITE + request.getFormattedRequestTime());
+                
+                // Couleur du statut selon l'état
+                ChatColor statusColor = getStatusColor(request.getStatus());
+                sender.sendMessage(ChatColor.AQUA + "Statut: " + statusColor + request.getStatus().getLabel());
+                
+                if (request.getProcessedBy() != null) {
+                    sender.sendMessage(ChatColor.AQUA + "Treated by: " + ChatColor.WHITE + request.getProcessedBy());
+                    sender.sendMessage(ChatColor.AQUA + "Processing date: " + ChatColor.WHITE + request.getFormattedProcessedTime());
+                }
+                
+                sender.sendMessage(ChatColor.GOLD + "================================================");
+            });
         });
         
         return true;
     }
     
-    private ChatColor getStatusColor(String status) {
+    private ChatColor getStatusColor(RequestStatus status) {
         if (status == null) return ChatColor.GRAY;
         
-        if (status.contains("APPROVED")) {
-            return ChatColor.GREEN;
-        } else if (status.contains("REFUSED")) {
-            return ChatColor.RED;
-        } else if (status.contains("TICKET")) {
-            return ChatColor.AQUA; // Changé de CYAN à AQUA
-        } else {
-            return ChatColor.YELLOW; // EN_ATTENTE
+        switch (status) {
+            case APPROVED:
+                return ChatColor.GREEN;
+            case DENIED:
+                return ChatColor.RED;
+            case TICKET:
+                return ChatColor.AQUA; // Changé de CYAN à AQUA
+            default:
+                return ChatColor.YELLOW; // EN_ATTENTE
         }
     }
     
@@ -0,0 +1,50 @@
+package fr.yourserver.whitelistbot.commands;
+
+import fr.yourserver.whitelistbot.WhitelistBot;
+import org.bukkit.ChatColor;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ReloadCommand implements CommandExecutor, TabCompleter {
+    
+    private final WhitelistBot plugin;
+    
+    public ReloadCommand(WhitelistBot plugin) {
+        this.plugin = plugin;
+    }
+    
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        // Vérifier les permissions
+        if (!sender.hasPermission("whitelistbot.admin")) {
+            sender.sendMessage(ChatColor.RED + "You do not have permission to use this command.");
+            return true;
+        }
+        
+        if (args.length != 1 || !args[0].equalsIgnoreCase("reload")) {
+            sender.sendMessage(ChatColor.RED + "Usage: /whitelistbot reload");
+            return true;
+        }
+        
+        // Seuls les textes, couleurs et le format de date sont rechargés ; le reste demande un redémarrage
+        plugin.reloadMessages();
+        sender.sendMessage(ChatColor.GREEN + "Messages reloaded from config.yml. Most other settings apply after a restart.");
+        return true;
+    }
+    
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
+        List<String> completions = new ArrayList<>();
+        
+        if (args.length == 1 && "reload".startsWith(args[0].toLowerCase())) {
+            completions.add("reload");
+        }
+        
+        return completions;
+    }
+}
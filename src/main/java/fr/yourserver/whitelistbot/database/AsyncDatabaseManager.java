@@ -0,0 +1,220 @@
+package fr.yourserver.whitelistbot.database;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Façade asynchrone de {@link DatabaseManager}.
+ * Les lectures s'exécutent sur un pool dédié et borné ; les écritures passent toujours par
+ * le thread d'écriture. Toutes les futures sont complétées sur le pool dédié, jamais sur le
+ * thread d'écriture ni sur le thread principal du serveur : l'appelant peut enchaîner directement.
+ * En cas d'erreur, la future est complétée par une {@link CompletionException} dont la cause est une {@link SQLException}.
+ */
+public class AsyncDatabaseManager {
+
+    @FunctionalInterface
+    private interface SqlCall<T> {
+        T call() throws SQLException;
+    }
+
+    private final DatabaseManager database;
+    private final Logger logger;
+    private final String prefix;
+    private final ThreadPoolExecutor executor;
+
+    public AsyncDatabaseManager(DatabaseManager database, Logger logger, String prefix, int threads, int queueCapacity) {
+        this.database = database;
+        this.logger = logger;
+        this.prefix = prefix;
+
+        int poolSize = Math.max(1, threads);
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "WhitelistBot-DB-Async-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        // File bornée : si elle est pleine, la future échoue au lieu d'accumuler du travail
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public CompletableFuture<WhitelistRequest> getWhitelistRequest(String discordId) {
+        return supply(() -> database.getWhitelistRequest(discordId));
+    }
+
+    public CompletableFuture<WhitelistRequest> getRequestByMinecraftUsername(String minecraftUsername) {
+        return supply(() -> database.getRequestByMinecraftUsername(minecraftUsername));
+    }
+
+    public CompletableFuture<RequestEligibility> getEligibility(String discordId) {
+        return supply(() -> database.getEligibility(discordId));
+    }
+
+    public CompletableFuture<List<WhitelistRequest>> getAllRequests() {
+        return supply(database::getAllRequests);
+    }
+
+    public CompletableFuture<List<WhitelistRequest>> getRequestsByStatus(RequestStatus status) {
+        return supply(() -> database.getRequestsByStatus(status));
+    }
+
+    public CompletableFuture<RequestPage> getRequestPage(RequestStatus status, RequestPage.Cursor cursor, boolean before, int pageSize) {
+        return supply(() -> database.getRequestPage(status, cursor, before, pageSize));
+    }
+
+    public CompletableFuture<Integer> getRequestCount() {
+        return supply(database::getRequestCount);
+    }
+
+    public CompletableFuture<Integer> getRequestCountByStatus(RequestStatus status) {
+        return supply(() -> database.getRequestCountByStatus(status));
+    }
+
+    public CompletableFuture<PlayerUuid> getPlayerUuid(String username) {
+        return supply(() -> database.getPlayerUuid(username));
+    }
+
+    public CompletableFuture<Void> savePlayerUuid(String username, UUID uuid) {
+        return handOff(database.savePlayerUuidAsync(username, uuid));
+    }
+
+    public CompletableFuture<Boolean> saveWhitelistRequest(WhitelistRequest request) {
+        return handOff(database.saveWhitelistRequestAsync(request));
+    }
+
+    public CompletableFuture<Void> updateRequestStatus(String discordId, RequestStatus status, String processedBy) {
+        return handOff(database.updateRequestStatusAsync(discordId, status, processedBy));
+    }
+
+    public CompletableFuture<List<WhitelistRequest>> bulkUpdateStatus(RequestStatus from, Collection<String> usernames,
+                                                                    RequestStatus status, String processedBy, int limit) {
+        return handOff(database.bulkUpdateStatusAsync(from, usernames, status, processedBy, limit));
+    }
+    
+    public CompletableFuture<Void> setAdminMessageId(String discordId, String messageId) {
+        return handOff(database.setAdminMessageIdAsync(discordId, messageId));
+    }
+    
+    public CompletableFuture<Void> enqueueDm(String discordId, String title, String message, int color) {
+        return handOff(database.enqueueDmAsync(discordId, title, message, color));
+    }
+    
+    public CompletableFuture<List<OutboxMessage>> getDueDms(long now, int limit) {
+        return supply(() -> database.getDueDms(now, limit));
+    }
+    
+    public CompletableFuture<Void> rescheduleDm(long id, int attempts, long nextAttemptTime, String lastError) {
+        return handOff(database.rescheduleDmAsync(id, attempts, nextAttemptTime, lastError));
+    }
+    
+    public CompletableFuture<Void> deleteDm(long id) {
+        return handOff(database.deleteDmAsync(id));
+    }
+    
+    public TicketIndex getTickets() {
+        return database.getTickets();
+    }
+    
+    public CompletableFuture<Void> saveTicket(String discordId, String channelId) {
+        return handOff(database.saveTicketAsync(discordId, channelId));
+    }
+    
+    public CompletableFuture<Void> deleteTicket(String channelId) {
+        return handOff(database.deleteTicketAsync(channelId));
+    }
+    
+    public CompletableFuture<Void> saveRequestAttempt(String discordId, long attemptTime) {
+        return handOff(database.saveRequestAttemptAsync(discordId, attemptTime));
+    }
+    
+    public CompletableFuture<Boolean> deleteRequest(String discordId) {
+        return handOff(database.deleteRequestAsync(discordId));
+    }
+
+    /**
+     * Cause réelle d'une erreur reçue dans une suite de future (sans l'enveloppe CompletionException).
+     */
+    public static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    public int getQueuedTaskCount() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Arrête le pool après avoir laissé finir les tâches en cours (avant la fermeture de la base).
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warning(prefix + " Le pool asynchrone de la base ne s'est pas arrêté à temps.");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private <T> CompletableFuture<T> supply(SqlCall<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(call.call());
+                } catch (SQLException e) {
+                    future.completeExceptionally(new CompletionException(e));
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(new CompletionException(new SQLException(e)));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new CompletionException(
+                    new SQLException("Pool asynchrone de la base saturé (" + executor.getQueue().size() + " tâches en attente)", e)));
+        }
+        return future;
+    }
+
+    // Les futures d'écriture sont complétées sur le thread d'écriture : on repasse sur le pool
+    // pour que les suites de l'appelant ne ralentissent jamais le regroupement des écritures
+    private <T> CompletableFuture<T> handOff(CompletableFuture<T> write) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        write.whenComplete((result, error) -> {
+            try {
+                executor.execute(() -> complete(future, result, error));
+            } catch (RejectedExecutionException e) {
+                // Pool saturé ou arrêté : compléter sur place plutôt que perdre le résultat
+                complete(future, result, error);
+            }
+        });
+        return future;
+    }
+
+    private static <T> void complete(CompletableFuture<T> future, T result, Throwable error) {
+        if (error == null) {
+            future.complete(result);
+        } else {
+            future.completeExceptionally(new CompletionException(unwrap(error)));
+        }
+    }
+}
@@ -1,239 +1,888 @@
 package fr.yourserver.whitelistbot.database;
 
+import com.google.gson.JsonArray;
 import fr.yourserver.whitelistbot.WhitelistBot;
+import fr.yourserver.whitelistbot.metrics.Counter;
+import fr.yourserver.whitelistbot.metrics.MetricsRegistry;
+import fr.yourserver.whitelistbot.metrics.Timer;
+import org.bukkit.configuration.ConfigurationSection;
 import java.io.File;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
 
 public class DatabaseManager {
     
-    private final WhitelistBot plugin;
+    private static final String SELECT_REQUESTS = "SELECT " + RequestRowMapper.COLUMNS + " FROM whitelist_requests";
+    private static final String SELECT_RECENT = SELECT_REQUESTS + " ORDER BY request_time DESC LIMIT ?";
+    private static final String SELECT_BY_DISCORD_ID = SELECT_REQUESTS + " WHERE discord_id = ?";
+    private static final String SELECT_BY_USERNAME = SELECT_REQUESTS + " WHERE minecraft_username = ? COLLATE NOCASE";
+    private static final String SELECT_ALL = SELECT_REQUESTS + " ORDER BY request_time DESC";
+    private static final String SELECT_BY_STATUS = SELECT_REQUESTS + " WHERE status = ? ORDER BY request_time DESC";
+    private static final String SELECT_STATUS = "SELECT status FROM whitelist_requests WHERE discord_id = ?";
+    private static final String SELECT_DISCORD_IDS = "SELECT discord_id FROM whitelist_requests";
+    private static final String COUNT_ALL = "SELECT COUNT(*) FROM whitelist_requests";
+    private static final String COUNT_BY_STATUS = "SELECT COUNT(*) FROM whitelist_requests WHERE status = ?";
+    // Une nouvelle demande du même utilisateur réutilise sa ligne : id, message admin et dernière décision conservés.
+    // Aucune ligne renvoyée si sa demande précédente est encore en attente
+    private static final String UPSERT_REQUEST = """
+        INSERT INTO whitelist_requests 
+        (discord_id, discord_tag, minecraft_username, request_time, status) 
+        VALUES (?, ?, ?, ?, ?)
+        ON CONFLICT (discord_id) DO UPDATE SET 
+            discord_tag = excluded.discord_tag, minecraft_username = excluded.minecraft_username, 
+            request_time = excluded.request_time, status = excluded.status
+        WHERE whitelist_requests.status <> excluded.status
+        RETURNING """ + RequestRowMapper.COLUMNS;
+    private static final String UPDATE_STATUS = """
+        UPDATE whitelist_requests 
+        SET status = ?, processed_by = ?, processed_time = ? 
+        WHERE discord_id = ?
+    """;
+    private static final String UPDATE_ADMIN_MESSAGE = "UPDATE whitelist_requests SET admin_message_id = ? WHERE discord_id = ?";
+    // Une seule instruction : sélection des demandes par statut (et pseudos), mise à jour et lignes modifiées
+    private static final String BULK_UPDATE_STATUS = """
+        UPDATE whitelist_requests 
+        SET status = ?, processed_by = ?, processed_time = ? 
+        WHERE id IN (
+            SELECT id FROM whitelist_requests WHERE status = ? %s
+            ORDER BY request_time LIMIT ?
+        )
+        RETURNING """ + RequestRowMapper.COLUMNS;
+    private static final String BULK_UPDATE_ALL = BULK_UPDATE_STATUS.formatted("");
+    private static final String BULK_UPDATE_NAMED = BULK_UPDATE_STATUS.formatted(
+            "AND minecraft_username COLLATE NOCASE IN (SELECT value FROM json_each(?))");
+    private static final String INSERT_DM = """
+        INSERT INTO dm_outbox (discord_id, title, message, color, created_time, next_attempt_time) 
+        VALUES (?, ?, ?, ?, ?, ?)
+    """;
+    private static final String SELECT_DUE_DMS = """
+        SELECT id, discord_id, title, message, color, created_time, attempts FROM dm_outbox 
+        WHERE next_attempt_time <= ? ORDER BY next_attempt_time, id LIMIT ?
+    """;
+    private static final String RESCHEDULE_DM = "UPDATE dm_outbox SET attempts = ?, next_attempt_time = ?, last_error = ? WHERE id = ?";
+    private static final String DELETE_DM = "DELETE FROM dm_outbox WHERE id = ?";
+    private static final String SELECT_TICKETS = "SELECT discord_id, channel_id FROM tickets";
+    private static final String UPSERT_TICKET = """
+        INSERT INTO tickets (discord_id, channel_id, created_time) VALUES (?, ?, ?)
+        ON CONFLICT (discord_id) DO UPDATE SET channel_id = excluded.channel_id, created_time = excluded.created_time
+    """;
+    private static final String DELETE_TICKET = "DELETE FROM tickets WHERE channel_id = ?";
+    private static final String DELETE_REQUEST = "DELETE FROM whitelist_requests WHERE discord_id = ?";
+    private static final String SELECT_ATTEMPTS = "SELECT discord_id, attempt_time FROM request_attempts WHERE attempt_time > ? ORDER BY attempt_time";
+    private static final String INSERT_ATTEMPT = "INSERT OR IGNORE INTO request_attempts (attempt_time, discord_id) VALUES (?, ?)";
+    private static final String DELETE_ATTEMPTS = "DELETE FROM request_attempts WHERE attempt_time <= ?";
+    // Lot borné de demandes traitées avant une date : une suppression courte ne bloque pas les autres écritures
+    private static final String DELETE_EXPIRED = """
+        DELETE FROM whitelist_requests 
+        WHERE id IN (
+            SELECT id FROM whitelist_requests WHERE status = ? AND processed_time < ? LIMIT ?
+        )
+        RETURNING discord_id""";
+    private static final String SELECT_PLAYER_UUID = "SELECT username, uuid, resolved_time FROM player_uuids WHERE username = ?";
+    private static final String UPSERT_PLAYER_UUID = """
+        INSERT INTO player_uuids (username, uuid, resolved_time) VALUES (?, ?, ?)
+        ON CONFLICT (username) DO UPDATE SET uuid = excluded.uuid, resolved_time = excluded.resolved_time
+    """;
+    
+    // Requêtes mesurées (étiquette query des métriques)
+    private enum Query {
+        SAVE, UPDATE_STATUS, DELETE, BY_DISCORD_ID, ELIGIBILITY, BY_USERNAME, ALL, BY_STATUS, PAGE, COUNT, COUNT_BY_STATUS,
+        PLAYER_UUID, SAVE_PLAYER_UUID, ADMIN_MESSAGE, BULK_UPDATE_STATUS,
+        ENQUEUE_DM, DUE_DMS, RESCHEDULE_DM, DELETE_DM, SAVE_TICKET, DELETE_TICKET, DELETE_EXPIRED, INCREMENTAL_VACUUM,
+        REQUEST_ATTEMPTS, SAVE_ATTEMPT, DELETE_ATTEMPTS
+    }
+    
+    private final Logger logger;
+    private final String prefix;
+    private final ConfigurationSection config;
     private Connection connection;
+    private DatabaseWriter writer;
+    private ReadConnectionPool readPool;
+    private final RequestCache cache;
+    private final StatementCache statements = new StatementCache();
+    private volatile DiscordIdFilter knownDiscordIds;
+    private final TicketIndex tickets = new TicketIndex();
     private final String dbPath;
+    private final Map<Query, Timer> queryTimers = new EnumMap<>(Query.class);
+    private final Map<Query, Counter> queryErrors = new EnumMap<>(Query.class);
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Counter filterHits;
     
     public DatabaseManager(WhitelistBot plugin) throws SQLException {
-        this.plugin = plugin;
-        this.dbPath = plugin.getDataFolder().getAbsolutePath() + File.separator + "whitelist.db";
+        this(plugin.getLogger(), plugin.getPrefix(), plugin.getDataFolder(), plugin.getConfig(), plugin.getMetrics());
+    }
+    
+    /**
+     * Constructeur indépendant du serveur (benchmarks, outils) : seuls un dossier et une configuration sont nécessaires.
+     */
+    public DatabaseManager(Logger logger, String prefix, File dataFolder, ConfigurationSection config) throws SQLException {
+        this(logger, prefix, dataFolder, config, new MetricsRegistry());
+    }
+    
+    public DatabaseManager(Logger logger, String prefix, File dataFolder, ConfigurationSection config,
+                           MetricsRegistry metrics) throws SQLException {
+        this.logger = logger;
+        this.prefix = prefix;
+        this.config = config;
+        this.dbPath = dataFolder.getAbsolutePath() + File.separator + "whitelist.db";
+        this.cache = new RequestCache(config.getInt("database.cache.max-entries", 10000));
+        
+        for (Query query : Query.values()) {
+            String label = query.name().toLowerCase(Locale.ROOT);
+            queryTimers.put(query, metrics.timer("whitelistbot_db_query_seconds",
+                    "SQLite query time, including the wait for a connection or for the write batch commit", "query", label));
+            queryErrors.put(query, metrics.counter("whitelistbot_db_query_errors_total", "Failed SQLite queries", "query", label));
+        }
+        String lookupHelp = "Request lookups by where they were answered (memory filter, cache, or SQLite)";
+        this.filterHits = metrics.counter("whitelistbot_db_lookups_total", lookupHelp, "source", "filter");
+        this.cacheHits = metrics.counter("whitelistbot_db_lookups_total", lookupHelp, "source", "cache");
+        this.cacheMisses = metrics.counter("whitelistbot_db_lookups_total", lookupHelp, "source", "sqlite");
+        metrics.gauge("whitelistbot_db_write_queue_size", "Writes waiting for the writer thread", this::getPendingWriteCount);
+        metrics.gauge("whitelistbot_db_cache_entries", "Requests held in the memory cache", cache::size);
+        metrics.gauge("whitelistbot_sessions", "Entries in the bot's in-memory maps", tickets::size, "map", "ticket_channels");
+        metrics.gauge("whitelistbot_db_read_pool_idle", "Idle read connections",
+                () -> readPool != null ? readPool.getIdleCount() : 0);
         
         // Créer le dossier du plugin s'il n'existe pas
-        plugin.getDataFolder().mkdirs();
+        dataFolder.mkdirs();
         
         initializeDatabase();
     }
     
     private void initializeDatabase() throws SQLException {
-        connection = DriverManager.getConnection("jdbc:sqlite:" + dbPath);
+        String url = "jdbc:sqlite:" + dbPath;
+        connection = DriverManager.getConnection(url);
+        
+        // Mode WAL : les lectures ne bloquent plus les écritures
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA journal_mode = WAL");
+            stmt.execute("PRAGMA synchronous = " + getSynchronousMode());
+            for (String pragma : getConnectionPragmas()) {
+                stmt.execute(pragma);
+            }
+        }
         
-        // Créer la table des demandes de whitelist
-        String createTable = """
-            CREATE TABLE IF NOT EXISTS whitelist_requests (
-                id INTEGER PRIMARY KEY AUTOINCREMENT,
-                discord_id TEXT UNIQUE NOT NULL,
-                discord_tag TEXT NOT NULL,
-                minecraft_username TEXT NOT NULL,
-                request_time TEXT NOT NULL,
-                status TEXT DEFAULT 'EN_ATTENTE',
-                processed_by TEXT,
-                processed_time TEXT
-            )
-        """;
+        // Créer ou mettre à jour le schéma (table schema_version + migrations ordonnées)
+        new SchemaMigrator(connection, logger, prefix).migrate();
+        
+        // Toutes les écritures passent par un thread unique qui les regroupe en transactions
+        writer = new DatabaseWriter(
+                connection,
+                logger,
+                prefix,
+                config.getInt("database.writer.queue-capacity", 1024),
+                config.getInt("database.writer.max-batch-size", 256),
+                config.getLong("database.writer.flush-interval-ms", 5),
+                config.getLong("database.writer.enqueue-timeout-ms", 2000)
+        );
+        
+        // Les lectures passent par un pool de connexions en lecture seule
+        readPool = new ReadConnectionPool(
+                url,
+                config.getInt("database.read-pool.size", Math.min(4, Runtime.getRuntime().availableProcessors())),
+                config.getLong("database.read-pool.acquire-timeout-ms", 5000),
+                config.getInt("database.busy-timeout-ms", 5000),
+                getConnectionPragmas()
+        );
+        
+        hydrateCache();
+        loadKnownDiscordIds();
+        loadTickets();
+        
+        logger.info(prefix + " Base de données SQLite initialisée : " + dbPath);
+    }
+    
+    // Charge les demandes les plus récentes dans le cache mémoire
+    private void hydrateCache() throws SQLException {
+        int maxSize = cache.getMaxSize();
+        List<WhitelistRequest> requests = readPool.withConnection(conn -> {
+            List<WhitelistRequest> recent = new ArrayList<>();
+            PreparedStatement stmt = statements.prepare(conn, SELECT_RECENT);
+            stmt.setInt(1, maxSize + 1);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    recent.add(RequestRowMapper.map(rs));
+                }
+            }
+            
+            return recent;
+        });
         
-        try (PreparedStatement stmt = connection.prepareStatement(createTable)) {
-            stmt.executeUpdate();
+        boolean allRows = requests.size() <= maxSize;
+        if (!allRows) {
+            requests.remove(requests.size() - 1);
         }
+        cache.hydrate(requests, allRows);
         
-        plugin.getLogger().info(plugin.getPrefix() + " Base de données SQLite initialisée : " + dbPath);
+        logger.info(prefix + " Cache des demandes chargé : " + cache.size() + " entrées" + 
+                               (allRows ? " (table complète)" : ""));
+    }
+    
+    // Construit le filtre des IDs Discord connus (parcours de l'index unique, sans lire les lignes)
+    private void loadKnownDiscordIds() throws SQLException {
+        knownDiscordIds = readPool.withConnection(conn -> {
+            int count = countRequests(conn, null);
+            DiscordIdFilter filter = new DiscordIdFilter(Math.max(10000, count * 2), 0.01);
+            
+            try (ResultSet rs = statements.prepare(conn, SELECT_DISCORD_IDS).executeQuery()) {
+                while (rs.next()) {
+                    filter.add(rs.getString(1));
+                }
+            }
+            
+            return filter;
+        });
     }
     
-    public void saveWhitelistRequest(WhitelistRequest request) throws SQLException {
-        String sql = """
-            INSERT OR REPLACE INTO whitelist_requests 
-            (discord_id, discord_tag, minecraft_username, request_time, status) 
-            VALUES (?, ?, ?, ?, ?)
-        """;
+    // Charge l'index des tickets (une ligne par ticket ouvert)
+    private void loadTickets() throws SQLException {
+        readPool.withConnection(conn -> {
+            try (ResultSet rs = statements.prepare(conn, SELECT_TICKETS).executeQuery()) {
+                while (rs.next()) {
+                    tickets.put(rs.getString(1), rs.getString(2));
+                }
+            }
+            return null;
+        });
+    }
+    
+    private String getSynchronousMode() {
+        String mode = config.getString("database.synchronous", "NORMAL").toUpperCase();
+        return switch (mode) {
+            case "OFF", "NORMAL", "FULL", "EXTRA" -> mode;
+            default -> "NORMAL";
+        };
+    }
+    
+    // Réglages appliqués à chaque connexion (écriture et lecture)
+    private List<String> getConnectionPragmas() {
+        return List.of(
+                "PRAGMA busy_timeout = " + config.getInt("database.busy-timeout-ms", 5000),
+                "PRAGMA cache_size = -" + config.getInt("database.cache-size-kb", 8192),
+                "PRAGMA mmap_size = " + config.getLong("database.mmap-size-mb", 64) * 1024 * 1024,
+                "PRAGMA temp_store = MEMORY"
+        );
+    }
+    
+    public boolean saveWhitelistRequest(WhitelistRequest request) throws SQLException {
+        return DatabaseWriter.await(saveWhitelistRequestAsync(request));
+    }
+    
+    /**
+     * Enregistre une demande en attente. Renvoie {@code false}, sans rien modifier, si l'utilisateur a
+     * déjà une demande en attente.
+     */
+    public CompletableFuture<Boolean> saveWhitelistRequestAsync(WhitelistRequest request) {
+        // Avant l'écriture : le filtre ne doit jamais répondre "absent" pour une ligne existante
+        knownDiscordIds.add(request.getDiscordId());
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        return write(Query.SAVE, conn -> {
+            PreparedStatement stmt = statements.prepare(conn, UPSERT_REQUEST);
             stmt.setString(1, request.getDiscordId());
             stmt.setString(2, request.getDiscordTag());
             stmt.setString(3, request.getMinecraftUsername());
-            stmt.setString(4, request.getRequestTime().toString());
-            stmt.setString(5, "EN_ATTENTE");
-            stmt.executeUpdate();
-        }
+            stmt.setLong(4, request.getRequestTimeMillis());
+            stmt.setInt(5, RequestStatus.PENDING.getCode());
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? RequestRowMapper.map(rs) : null;
+            }
+        }).thenApply(saved -> {
+            // Écriture validée : le cache reflète la ligne telle qu'enregistrée
+            if (saved != null) {
+                cache.put(saved);
+            }
+            return saved != null;
+        }).whenComplete((ignored, error) -> {
+            if (error != null) {
+                cache.invalidate(request.getDiscordId());
+            }
+        });
     }
     
     public WhitelistRequest getWhitelistRequest(String discordId) throws SQLException {
-        String sql = "SELECT * FROM whitelist_requests WHERE discord_id = ?";
+        WhitelistRequest cached = cache.getByDiscordId(discordId);
+        if (cached != null || cache.isAuthoritativeForDiscordId()) {
+            cacheHits.increment();
+            return cached;
+        }
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        cacheMisses.increment();
+        long stamp = cache.getWriteStamp();
+        WhitelistRequest request = read(Query.BY_DISCORD_ID, conn -> {
+            PreparedStatement stmt = statements.prepare(conn, SELECT_BY_DISCORD_ID);
             stmt.setString(1, discordId);
             
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return new WhitelistRequest(
-                        rs.getString("discord_id"),
-                        rs.getString("discord_tag"),
-                        rs.getString("minecraft_username"),
-                        LocalDateTime.parse(rs.getString("request_time")),
-                        rs.getString("status"),
-                        rs.getString("processed_by"),
-                        rs.getString("processed_time") != null ? 
-                            LocalDateTime.parse(rs.getString("processed_time")) : null
-                    );
-                }
+                return rs.next() ? RequestRowMapper.map(rs) : null;
             }
+        });
+        
+        if (request != null) {
+            cache.putIfUnchanged(stamp, request);
+        }
+        return request;
+    }
+    
+    /**
+     * État de la demande d'un utilisateur, sans charger la table : filtre mémoire, puis cache,
+     * puis lecture indexée d'une seule colonne.
+     */
+    public RequestEligibility getEligibility(String discordId) throws SQLException {
+        if (!knownDiscordIds.mightContain(discordId)) {
+            filterHits.increment();
+            return RequestEligibility.NONE;
+        }
+        
+        WhitelistRequest cached = cache.getByDiscordId(discordId);
+        if (cached != null) {
+            cacheHits.increment();
+            return RequestEligibility.fromStatus(cached.getStatus());
+        }
+        if (cache.isAuthoritativeForDiscordId()) {
+            cacheHits.increment();
+            return RequestEligibility.NONE;
         }
         
-        return null;
+        cacheMisses.increment();
+        return read(Query.ELIGIBILITY, conn -> {
+            PreparedStatement stmt = statements.prepare(conn, SELECT_STATUS);
+            stmt.setString(1, discordId);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? RequestEligibility.fromStatus(RequestStatus.fromCode(rs.getInt(1))) : RequestEligibility.NONE;
+            }
+        });
     }
     
     public WhitelistRequest getRequestByMinecraftUsername(String minecraftUsername) throws SQLException {
-        String sql = "SELECT * FROM whitelist_requests WHERE minecraft_username = ? COLLATE NOCASE";
+        WhitelistRequest cached = cache.getByUsername(minecraftUsername);
+        if (cached != null || cache.isAuthoritativeForUsername(minecraftUsername)) {
+            cacheHits.increment();
+            return cached;
+        }
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        cacheMisses.increment();
+        long stamp = cache.getWriteStamp();
+        WhitelistRequest request = read(Query.BY_USERNAME, conn -> {
+            PreparedStatement stmt = statements.prepare(conn, SELECT_BY_USERNAME);
             stmt.setString(1, minecraftUsername);
             
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return new WhitelistRequest(
-                        rs.getString("discord_id"),
-                        rs.getString("discord_tag"),
-                        rs.getString("minecraft_username"),
-                        LocalDateTime.parse(rs.getString("request_time")),
-                        rs.getString("status"),
-                        rs.getString("processed_by"),
-                        rs.getString("processed_time") != null ? 
-                            LocalDateTime.parse(rs.getString("processed_time")) : null
-                    );
-                }
+                return rs.next() ? RequestRowMapper.map(rs) : null;
             }
-        }
+        });
         
-        return null;
+        if (request != null) {
+            cache.putIfUnchanged(stamp, request);
+        }
+        return request;
     }
     
-    public void updateRequestStatus(String discordId, String status) throws SQLException {
+    public void updateRequestStatus(String discordId, RequestStatus status) throws SQLException {
         updateRequestStatus(discordId, status, null);
     }
     
-    public void updateRequestStatus(String discordId, String status, String processedBy) throws SQLException {
-        String sql = """
-            UPDATE whitelist_requests 
-            SET status = ?, processed_by = ?, processed_time = ? 
-            WHERE discord_id = ?
-        """;
+    public void updateRequestStatus(String discordId, RequestStatus status, String processedBy) throws SQLException {
+        DatabaseWriter.await(updateRequestStatusAsync(discordId, status, processedBy));
+    }
+    
+    public CompletableFuture<Void> updateRequestStatusAsync(String discordId, RequestStatus status, String processedBy) {
+        LocalDateTime processedTime = LocalDateTime.now();
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, status);
+        return write(Query.UPDATE_STATUS, conn -> {
+            PreparedStatement stmt = statements.prepare(conn, UPDATE_STATUS);
+            stmt.setInt(1, status.getCode());
             stmt.setString(2, processedBy);
-            stmt.setString(3, LocalDateTime.now().toString());
+            stmt.setLong(3, Timestamps.toEpochMillis(processedTime));
             stmt.setString(4, discordId);
-            stmt.executeUpdate();
+            return stmt.executeUpdate();
+        }).thenAccept(updated -> {
+            WhitelistRequest cached = cache.getByDiscordId(discordId);
+            if (updated > 0 && cached != null) {
+                cache.put(cached.withStatus(status, processedBy, processedTime));
+            }
+        }).whenComplete((ignored, error) -> {
+            if (error != null) {
+                cache.invalidate(discordId);
+            }
+        });
+    }
+    
+    /**
+     * Passe au statut {@code status} jusqu'à {@code limit} demandes au statut {@code from} (les plus
+     * anciennes d'abord), limitées aux pseudos donnés s'il y en a, en une seule écriture donc une seule
+     * transaction. Retourne les demandes modifiées, avec leur nouveau statut.
+     */
+    public CompletableFuture<List<WhitelistRequest>> bulkUpdateStatusAsync(RequestStatus from, Collection<String> usernames,
+                                                                         RequestStatus status, String processedBy, int limit) {
+        LocalDateTime processedTime = LocalDateTime.now();
+        boolean named = usernames != null && !usernames.isEmpty();
+        JsonArray names = new JsonArray();
+        if (named) {
+            usernames.forEach(names::add);
         }
+        
+        return write(Query.BULK_UPDATE_STATUS, conn -> {
+            PreparedStatement stmt = statements.prepare(conn, named ? BULK_UPDATE_NAMED : BULK_UPDATE_ALL);
+            int index = 1;
+            stmt.setInt(index++, status.getCode());
+            stmt.setString(index++, processedBy);
+            stmt.setLong(index++, Timestamps.toEpochMillis(processedTime));
+            stmt.setInt(index++, from.getCode());
+            if (named) {
+                stmt.setString(index++, names.toString());
+            }
+            stmt.setInt(index, limit);
+            
+            List<WhitelistRequest> updated = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    updated.add(RequestRowMapper.map(rs));
+                }
+            }
+            return updated;
+        }).thenApply(updated -> {
+            // En cas d'erreur le savepoint de l'écriture est annulé : aucune ligne n'a changé
+            updated.forEach(cache::put);
+            return updated;
+        });
+    }
+    
+    /**
+     * Enregistre le message du salon admin qui présente la demande.
+     */
+    public CompletableFuture<Void> setAdminMessageIdAsync(String discordId, String messageId) {
+        return write(Query.ADMIN_MESSAGE, conn -> {
+            PreparedStatement stmt = statements.prepare(conn, UPDATE_ADMIN_MESSAGE);
+            stmt.setString(1, messageId);
+            stmt.setString(2, discordId);
+            return stmt.executeUpdate();
+        }).thenAccept(updated -> {
+            WhitelistRequest cached = cache.getByDiscordId(discordId);
+            if (updated > 0 && cached != null) {
+                cache.put(cached.withAdminMessageId(messageId));
+            }
+        }).whenComplete((ignored, error) -> {
+            if (error != null) {
+                cache.invalidate(discordId);
+            }
+        });
     }
     
     public List<WhitelistRequest> getAllRequests() throws SQLException {
-        List<WhitelistRequest> requests = new ArrayList<>();
-        String sql = "SELECT * FROM whitelist_requests ORDER BY request_time DESC";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
+        return read(Query.ALL, conn -> {
+            List<WhitelistRequest> requests = new ArrayList<>();
             
-            while (rs.next()) {
-                requests.add(new WhitelistRequest(
-                    rs.getString("discord_id"),
-                    rs.getString("discord_tag"),
-                    rs.getString("minecraft_username"),
-                    LocalDateTime.parse(rs.getString("request_time")),
-                    rs.getString("status"),
-                    rs.getString("processed_by"),
-                    rs.getString("processed_time") != null ? 
-                        LocalDateTime.parse(rs.getString("processed_time")) : null
-                ));
+            try (ResultSet rs = statements.prepare(conn, SELECT_ALL).executeQuery()) {
+                while (rs.next()) {
+                    requests.add(RequestRowMapper.map(rs));
+                }
             }
-        }
-        
-        return requests;
+            
+            return requests;
+        });
     }
     
-    public List<WhitelistRequest> getRequestsByStatus(String status) throws SQLException {
-        List<WhitelistRequest> requests = new ArrayList<>();
-        String sql = "SELECT * FROM whitelist_requests WHERE status = ? ORDER BY request_time DESC";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, status);
+    public List<WhitelistRequest> getRequestsByStatus(RequestStatus status) throws SQLException {
+        return read(Query.BY_STATUS, conn -> {
+            List<WhitelistRequest> requests = new ArrayList<>();
+            PreparedStatement stmt = statements.prepare(conn, SELECT_BY_STATUS);
+            stmt.setInt(1, status.getCode());
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    requests.add(new WhitelistRequest(
-                        rs.getString("discord_id"),
-                        rs.getString("discord_tag"),
-                        rs.getString("minecraft_username"),
-                        LocalDateTime.parse(rs.getString("request_time")),
-                        rs.getString("status"),
-                        rs.getString("processed_by"),
-                        rs.getString("processed_time") != null ? 
-                            LocalDateTime.parse(rs.getString("processed_time")) : null
-                    ));
+                    requests.add(RequestRowMapper.map(rs));
                 }
             }
+            
+            return requests;
+        });
+    }
+    
+    /**
+     * Retourne une page de demandes triée par date décroissante, paginée par clé (request_time, id).
+     * Sans curseur, retourne la première page ; avec {@code before}, la page qui précède le curseur.
+     * Le coût ne dépend que de la taille de la page, pas de celle de la table.
+     */
+    public RequestPage getRequestPage(RequestStatus status, RequestPage.Cursor cursor, boolean before, int pageSize) throws SQLException {
+        // Au plus huit variantes de la requête, chacune préparée une fois par connexion
+        StringBuilder sql = new StringBuilder(SELECT_REQUESTS);
+        List<String> conditions = new ArrayList<>();
+        if (status != null) {
+            conditions.add("status = ?");
         }
+        if (cursor != null) {
+            conditions.add(before ? "(request_time, id) > (?, ?)" : "(request_time, id) < (?, ?)");
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        // Vers l'arrière on parcourt l'index dans l'autre sens puis on réinverse
+        sql.append(before ? " ORDER BY request_time ASC, id ASC" : " ORDER BY request_time DESC, id DESC");
+        sql.append(" LIMIT ?");
         
-        return requests;
+        return read(Query.PAGE, conn -> {
+            List<WhitelistRequest> requests = new ArrayList<>(pageSize + 1);
+            
+            PreparedStatement stmt = statements.prepare(conn, sql.toString());
+            int index = 1;
+            if (status != null) {
+                stmt.setInt(index++, status.getCode());
+            }
+            if (cursor != null) {
+                stmt.setLong(index++, cursor.getRequestTime());
+                stmt.setLong(index++, cursor.getId());
+            }
+            // Une ligne de plus pour savoir s'il reste des demandes dans ce sens
+            stmt.setInt(index, pageSize + 1);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    requests.add(RequestRowMapper.map(rs));
+                }
+            }
+            
+            boolean more = requests.size() > pageSize;
+            if (more) {
+                requests.remove(requests.size() - 1);
+            }
+            if (before) {
+                Collections.reverse(requests);
+            }
+            
+            int totalCount = countRequests(conn, status);
+            boolean hasPrevious = before ? more : cursor != null;
+            boolean hasNext = before || more;
+            
+            return new RequestPage(requests, totalCount, hasPrevious, hasNext);
+        });
     }
     
     public boolean deleteRequest(String discordId) throws SQLException {
-        String sql = "DELETE FROM whitelist_requests WHERE discord_id = ?";
-        
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        return DatabaseWriter.await(deleteRequestAsync(discordId));
+    }
+    
+    public CompletableFuture<Boolean> deleteRequestAsync(String discordId) {
+        return write(Query.DELETE, conn -> {
+            PreparedStatement stmt = statements.prepare(conn, DELETE_REQUEST);
             stmt.setString(1, discordId);
             return stmt.executeUpdate() > 0;
+        }).whenComplete((deleted, error) -> {
+            if (error != null) {
+                cache.invalidate(discordId);
+            } else {
+                cache.remove(discordId);
+            }
+        });
+    }
+    
+    /**
+     * Supprime au plus {@code limit} demandes au statut donné, traitées avant {@code processedBefore}
+     * (millisecondes epoch), et renvoie les identifiants Discord supprimés.
+     */
+    public CompletableFuture<List<String>> deleteExpiredAsync(RequestStatus status, long processedBefore, int limit) {
+        return write(Query.DELETE_EXPIRED, conn -> {
+            PreparedStatement stmt = statements.prepare(conn, DELETE_EXPIRED);
+            stmt.setInt(1, status.getCode());
+            stmt.setLong(2, processedBefore);
+            stmt.setInt(3, limit);
+            
+            List<String> deleted = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    deleted.add(rs.getString(1));
+                }
+            }
+            return deleted;
+        }).thenApply(deleted -> {
+            deleted.forEach(cache::remove);
+            return deleted;
+        });
+    }
+    
+    /**
+     * Rend au système de fichiers au plus {@code pages} pages libres (auto_vacuum incrémental)
+     * et renvoie le nombre de pages réellement libérées.
+     */
+    public CompletableFuture<Integer> incrementalVacuumAsync(int pages) {
+        return write(Query.INCREMENTAL_VACUUM, conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                // Sans auto_vacuum incrémental, le pragma ne fait rien (et ne renvoie aucune ligne)
+                if (pragmaLong(stmt, "PRAGMA auto_vacuum") != 2) {
+                    return 0;
+                }
+                
+                long before = pragmaLong(stmt, "PRAGMA freelist_count");
+                long target = Math.max(0, before - pages);
+                long remaining = before;
+                while (remaining > target) {
+                    // Chaque pas de l'instruction libère une page et produit une ligne vide : tout lire
+                    try (ResultSet rs = stmt.executeQuery("PRAGMA incremental_vacuum(" + (remaining - target) + ")")) {
+                        while (rs.next()) {
+                            // rien à lire
+                        }
+                    }
+                    long after = pragmaLong(stmt, "PRAGMA freelist_count");
+                    if (after >= remaining) {
+                        break;
+                    }
+                    remaining = after;
+                }
+                return (int) (before - remaining);
+            }
+        });
+    }
+    
+    private static long pragmaLong(Statement stmt, String pragma) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(pragma)) {
+            return rs.next() ? rs.getLong(1) : 0;
         }
     }
     
-    public int getRequestCount() throws SQLException {
-        String sql = "SELECT COUNT(*) as count FROM whitelist_requests";
+    /**
+     * UUID connu pour un pseudo (insensible à la casse), ou null s'il n'a jamais été résolu.
+     */
+    public PlayerUuid getPlayerUuid(String username) throws SQLException {
+        return read(Query.PLAYER_UUID, conn -> {
+            PreparedStatement stmt = statements.prepare(conn, SELECT_PLAYER_UUID);
+            stmt.setString(1, username);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? new PlayerUuid(rs.getString(1), UUID.fromString(rs.getString(2)), rs.getLong(3)) : null;
+            }
+        });
+    }
+    
+    public CompletableFuture<Void> savePlayerUuidAsync(String username, UUID uuid) {
+        long resolvedTime = System.currentTimeMillis();
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
+        return write(Query.SAVE_PLAYER_UUID, conn -> {
+            PreparedStatement stmt = statements.prepare(conn, UPSERT_PLAYER_UUID);
+            stmt.setString(1, username);
+            stmt.setString(2, uuid.toString());
+            stmt.setLong(3, resolvedTime);
+            return stmt.executeUpdate();
+        }).thenAccept(updated -> { });
+    }
+    
+    /**
+     * Ajoute un message privé à la file d'envoi, à envoyer dès que possible.
+     */
+    public CompletableFuture<Void> enqueueDmAsync(String discordId, String title, String message, int color) {
+        long now = System.currentTimeMillis();
+        
+        return write(Query.ENQUEUE_DM, conn -> {
+            PreparedStatement stmt = statements.prepare(conn, INSERT_DM);
+            stmt.setString(1, discordId);
+            stmt.setString(2, title);
+            stmt.setString(3, message);
+            stmt.setInt(4, color);
+            stmt.setLong(5, now);
+            stmt.setLong(6, now);
+            return stmt.executeUpdate();
+        }).thenAccept(inserted -> { });
+    }
+    
+    /**
+     * Messages dont la prochaine tentative est due à {@code now} (millisecondes epoch), les plus anciens d'abord.
+     */
+    public List<OutboxMessage> getDueDms(long now, int limit) throws SQLException {
+        return read(Query.DUE_DMS, conn -> {
+            List<OutboxMessage> messages = new ArrayList<>();
+            PreparedStatement stmt = statements.prepare(conn, SELECT_DUE_DMS);
+            stmt.setLong(1, now);
+            stmt.setInt(2, limit);
             
-            if (rs.next()) {
-                return rs.getInt("count");
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    messages.add(new OutboxMessage(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                            rs.getInt(5), rs.getLong(6), rs.getInt(7)));
+                }
             }
-        }
+            
+            return messages;
+        });
+    }
+    
+    public CompletableFuture<Void> rescheduleDmAsync(long id, int attempts, long nextAttemptTime, String lastError) {
+        return write(Query.RESCHEDULE_DM, conn -> {
+            PreparedStatement stmt = statements.prepare(conn, RESCHEDULE_DM);
+            stmt.setInt(1, attempts);
+            stmt.setLong(2, nextAttemptTime);
+            stmt.setString(3, lastError);
+            stmt.setLong(4, id);
+            return stmt.executeUpdate();
+        }).thenAccept(updated -> { });
+    }
+    
+    // Message envoyé, ou abandonné
+    public CompletableFuture<Void> deleteDmAsync(long id) {
+        return write(Query.DELETE_DM, conn -> {
+            PreparedStatement stmt = statements.prepare(conn, DELETE_DM);
+            stmt.setLong(1, id);
+            return stmt.executeUpdate();
+        }).thenAccept(deleted -> { });
+    }
+    
+    /**
+     * Index des tickets ouverts, à jour dès l'appel de {@link #saveTicketAsync} ou {@link #deleteTicketAsync}.
+     */
+    public TicketIndex getTickets() {
+        return tickets;
+    }
+    
+    public CompletableFuture<Void> saveTicketAsync(String discordId, String channelId) {
+        // Avant l'écriture : le demandeur peut cliquer dans son salon avant le commit
+        tickets.put(discordId, channelId);
+        long createdTime = System.currentTimeMillis();
         
-        return 0;
+        return write(Query.SAVE_TICKET, conn -> {
+            PreparedStatement stmt = statements.prepare(conn, UPSERT_TICKET);
+            stmt.setString(1, discordId);
+            stmt.setString(2, channelId);
+            stmt.setLong(3, createdTime);
+            return stmt.executeUpdate();
+        }).thenAccept(updated -> { });
     }
     
-    public int getRequestCountByStatus(String status) throws SQLException {
-        String sql = "SELECT COUNT(*) as count FROM whitelist_requests WHERE status = ?";
+    public CompletableFuture<Void> deleteTicketAsync(String channelId) {
+        tickets.removeByChannel(channelId);
         
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, status);
+        return write(Query.DELETE_TICKET, conn -> {
+            PreparedStatement stmt = statements.prepare(conn, DELETE_TICKET);
+            stmt.setString(1, channelId);
+            return stmt.executeUpdate();
+        }).thenAccept(deleted -> { });
+    }
+    
+    /**
+     * Tentatives de demande postérieures à {@code since} (millisecondes epoch), par utilisateur et
+     * dans l'ordre chronologique.
+     */
+    public Map<String, List<Long>> getRequestAttempts(long since) throws SQLException {
+        return read(Query.REQUEST_ATTEMPTS, conn -> {
+            Map<String, List<Long>> attempts = new HashMap<>();
+            PreparedStatement stmt = statements.prepare(conn, SELECT_ATTEMPTS);
+            stmt.setLong(1, since);
             
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("count");
+                while (rs.next()) {
+                    attempts.computeIfAbsent(rs.getString(1), id -> new ArrayList<>()).add(rs.getLong(2));
                 }
             }
+            
+            return attempts;
+        });
+    }
+    
+    public CompletableFuture<Void> saveRequestAttemptAsync(String discordId, long attemptTime) {
+        return write(Query.SAVE_ATTEMPT, conn -> {
+            PreparedStatement stmt = statements.prepare(conn, INSERT_ATTEMPT);
+            stmt.setLong(1, attemptTime);
+            stmt.setString(2, discordId);
+            return stmt.executeUpdate();
+        }).thenAccept(inserted -> { });
+    }
+    
+    // Tentatives sorties de la fenêtre : plus rien ne les lit
+    public CompletableFuture<Integer> deleteRequestAttemptsAsync(long before) {
+        return write(Query.DELETE_ATTEMPTS, conn -> {
+            PreparedStatement stmt = statements.prepare(conn, DELETE_ATTEMPTS);
+            stmt.setLong(1, before);
+            return stmt.executeUpdate();
+        });
+    }
+    
+    public int getRequestCount() throws SQLException {
+        return read(Query.COUNT, conn -> countRequests(conn, null));
+    }
+    
+    public int getRequestCountByStatus(RequestStatus status) throws SQLException {
+        return read(Query.COUNT_BY_STATUS, conn -> countRequests(conn, status));
+    }
+    
+    // Lecture sur le pool, mesurée (attente d'une connexion comprise)
+    private <T> T read(Query query, SqlWork<T> work) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return readPool.withConnection(work);
+        } catch (SQLException e) {
+            queryErrors.get(query).increment();
+            throw e;
+        } finally {
+            queryTimers.get(query).recordSince(start);
+        }
+    }
+    
+    // Écriture via le thread d'écriture, mesurée jusqu'à la validation du lot qui la contient
+    private <T> CompletableFuture<T> write(Query query, SqlWork<T> work) {
+        long start = System.nanoTime();
+        return writer.submit(work).whenComplete((result, error) -> {
+            queryTimers.get(query).recordSince(start);
+            if (error != null) {
+                queryErrors.get(query).increment();
+            }
+        });
+    }
+    
+    private int countRequests(Connection conn, RequestStatus status) throws SQLException {
+        PreparedStatement stmt = statements.prepare(conn, status != null ? COUNT_BY_STATUS : COUNT_ALL);
+        if (status != null) {
+            stmt.setInt(1, status.getCode());
         }
         
-        return 0;
+        try (ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
     }
     
     public void close() {
+        if (readPool != null) {
+            readPool.close();
+            readPool = null;
+        }
+        
+        // Valider les écritures en file avant de fermer la connexion
+        if (writer != null) {
+            writer.shutdown();
+            writer = null;
+        }
+        
+        // Plus aucune écriture en cours : les requêtes préparées peuvent être libérées
+        statements.close();
+        
         try {
             if (connection != null && !connection.isClosed()) {
                 connection.close();
-                plugin.getLogger().info(plugin.getPrefix() + " Connexion à la base de données fermée.");
+                logger.info(prefix + " Connexion à la base de données fermée.");
             }
         } catch (SQLException e) {
-            plugin.getLogger().severe(plugin.getPrefix() + " Erreur lors de la fermeture de la base de données : " + e.getMessage());
+            logger.severe(prefix + " Erreur lors de la fermeture de la base de données : " + e.getMessage());
         }
     }
     
+    public RequestCache getCache() {
+        return cache;
+    }
+    
+    public int getPendingWriteCount() {
+        return writer != null ? writer.getQueueSize() : 0;
+    }
+    
     // Méthode utilitaire pour vérifier la connexion
     public boolean isConnected() {
         try {
@@ -246,6 +895,9 @@ public class DatabaseManager {
     // Méthode pour reconnecter en cas de problème
     public void reconnect() throws SQLException {
         close();
+        cache.clear();
+        // Rechargé par initializeDatabase : aucun couple salon <-> demandeur d'avant la reconnexion ne doit rester
+        tickets.clear();
         initializeDatabase();
     }
 }
\ No newline at end of file
@@ -0,0 +1,238 @@
+package fr.yourserver.whitelistbot.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Logger;
+
+/**
+ * Thread d'écriture unique pour SQLite.
+ * Les écritures sont mises en file puis regroupées dans une seule transaction
+ * par fenêtre de flush ; chaque future est complétée une fois le commit effectué.
+ */
+public class DatabaseWriter {
+
+    // Attente maximale d'une écriture par les appels bloquants
+    private static final long AWAIT_TIMEOUT_SECONDS = 30;
+
+    private static final class PendingWrite<T> {
+        private final SqlWork<T> work;
+        private final CompletableFuture<T> future;
+        private T result;
+        private SQLException error;
+
+        private PendingWrite(SqlWork<T> work, CompletableFuture<T> future) {
+            this.work = work;
+            this.future = future;
+        }
+
+        private void run(Connection connection) throws SQLException {
+            result = work.execute(connection);
+        }
+
+        private void complete() {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(result);
+            }
+        }
+    }
+
+    private final Connection connection;
+    private final Logger logger;
+    private final String prefix;
+    private final BlockingQueue<PendingWrite<?>> queue;
+    private final int maxBatchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutMillis;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    public DatabaseWriter(Connection connection, Logger logger, String prefix,
+                          int queueCapacity, int maxBatchSize, long flushIntervalMillis, long offerTimeoutMillis) {
+        this.connection = connection;
+        this.logger = logger;
+        this.prefix = prefix;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, flushIntervalMillis));
+        this.offerTimeoutMillis = Math.max(0, offerTimeoutMillis);
+
+        this.thread = new Thread(this::runLoop, "WhitelistBot-DB-Writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Met une écriture en file. La future est complétée quand la transaction
+     * qui la contient a été validée (ou en erreur si l'écriture a échoué).
+     */
+    public <T> CompletableFuture<T> submit(SqlWork<T> work) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (!running) {
+            future.completeExceptionally(new SQLException("Le thread d'écriture est arrêté"));
+            return future;
+        }
+
+        PendingWrite<T> write = new PendingWrite<>(work, future);
+        try {
+            if (!queue.offer(write, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                future.completeExceptionally(new SQLException("File d'écriture saturée (" + queue.size() + " écritures en attente)"));
+            } else if (!running && queue.remove(write)) {
+                // Arrêt pendant la mise en file : le thread ou shutdown() a pu vider la file avant l'ajout
+                future.completeExceptionally(new SQLException("Le thread d'écriture est arrêté"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(new SQLException("Interrompu pendant la mise en file de l'écriture", e));
+        }
+        return future;
+    }
+
+    /**
+     * Version bloquante de {@link #submit(SqlWork)} : attend que l'écriture soit durable.
+     */
+    public <T> T execute(SqlWork<T> work) throws SQLException {
+        // Appel depuis le thread d'écriture lui-même : exécuter directement pour éviter un interblocage
+        if (Thread.currentThread() == thread) {
+            return work.execute(connection);
+        }
+        return await(submit(work));
+    }
+
+    /**
+     * Attend le résultat d'une écriture, au plus {@value #AWAIT_TIMEOUT_SECONDS} secondes.
+     */
+    public static <T> T await(CompletableFuture<T> future) throws SQLException {
+        try {
+            return future.get(AWAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            throw new SQLException("Écriture toujours en attente après " + AWAIT_TIMEOUT_SECONDS + " s", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrompu pendant l'attente de l'écriture", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new SQLException(cause);
+        }
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void runLoop() {
+        List<PendingWrite<?>> batch = new ArrayList<>(maxBatchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite<?> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - batch.size());
+
+                // Fenêtre de regroupement : attendre d'autres écritures avant de valider
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (running && batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) break;
+
+                    PendingWrite<?> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                // Arrêt demandé : on vide ce qui reste dans la file
+                running = false;
+                queue.drainTo(batch);
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingWrite<?>> batch) {
+        try {
+            connection.setAutoCommit(false);
+
+            for (PendingWrite<?> write : batch) {
+                // Un savepoint par écriture : une erreur n'annule pas le reste du lot
+                Savepoint savepoint = connection.setSavepoint();
+                try {
+                    write.run(connection);
+                    connection.releaseSavepoint(savepoint);
+                } catch (SQLException e) {
+                    connection.rollback(savepoint);
+                    write.error = e;
+                } catch (RuntimeException e) {
+                    connection.rollback(savepoint);
+                    write.error = new SQLException(e);
+                }
+            }
+
+            connection.commit();
+        } catch (SQLException e) {
+            logger.severe(prefix + " Échec du commit d'un lot de " + batch.size() + " écritures : " + e.getMessage());
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackError) {
+                logger.severe(prefix + " Échec du rollback : " + rollbackError.getMessage());
+            }
+            for (PendingWrite<?> write : batch) {
+                if (write.error == null) {
+                    write.error = e;
+                }
+            }
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                logger.warning(prefix + " Impossible de rétablir l'autocommit : " + e.getMessage());
+            }
+        }
+
+        // Compléter les futures une fois la transaction terminée
+        for (PendingWrite<?> write : batch) {
+            write.complete();
+        }
+    }
+
+    /**
+     * Arrête le thread après avoir validé les écritures déjà en file.
+     */
+    public void shutdown() {
+        running = false;
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (thread.isAlive()) {
+            thread.interrupt();
+            logger.warning(prefix + " Le thread d'écriture ne s'est pas arrêté à temps.");
+        }
+
+        PendingWrite<?> leftover;
+        while ((leftover = queue.poll()) != null) {
+            leftover.future.completeExceptionally(new SQLException("Le thread d'écriture est arrêté"));
+        }
+    }
+}
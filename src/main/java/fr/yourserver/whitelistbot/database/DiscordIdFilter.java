@@ -0,0 +1,68 @@
+package fr.yourserver.whitelistbot.database;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtre de Bloom des IDs Discord présents en base.
+ * Une réponse négative est certaine : un nouvel utilisateur est reconnu sans accès disque.
+ * Les suppressions ne sont pas retirées du filtre (faux positifs sans conséquence).
+ */
+public class DiscordIdFilter {
+    
+    private final AtomicLongArray bits;
+    private final int bitCount;
+    private final int hashCount;
+    
+    public DiscordIdFilter(int expectedEntries, double falsePositiveRate) {
+        int entries = Math.max(1, expectedEntries);
+        long optimalBits = (long) Math.ceil(-entries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.max(64, Math.min(Integer.MAX_VALUE - 63, optimalBits));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / entries * Math.log(2)));
+        this.bits = new AtomicLongArray((bitCount + 63) / 64);
+    }
+    
+    public void add(String discordId) {
+        long hash = hash64(discordId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = bit >>> 6;
+            long mask = 1L << bit;
+            
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) break;
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+    
+    public boolean mightContain(String discordId) {
+        long hash = hash64(discordId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    // FNV-1a 64 bits suivi d'un mélange final pour bien répartir les IDs numériques
+    private static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,51 @@
+package fr.yourserver.whitelistbot.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Étape de migration du schéma, identifiée par un numéro de version croissant.
+ */
+public class Migration {
+    
+    @FunctionalInterface
+    public interface Step {
+        void apply(Connection connection) throws SQLException;
+    }
+    
+    private final int version;
+    private final String description;
+    private final boolean transactional;
+    private final Step step;
+    
+    public Migration(int version, String description, Step step) {
+        this(version, description, true, step);
+    }
+    
+    /**
+     * @param transactional false pour les instructions interdites dans une transaction (VACUUM) :
+     *                      l'étape doit alors pouvoir être rejouée sans dommage
+     */
+    public Migration(int version, String description, boolean transactional, Step step) {
+        this.version = version;
+        this.description = description;
+        this.transactional = transactional;
+        this.step = step;
+    }
+    
+    public int getVersion() {
+        return version;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public boolean isTransactional() {
+        return transactional;
+    }
+    
+    public void apply(Connection connection) throws SQLException {
+        step.apply(connection);
+    }
+}
@@ -0,0 +1,56 @@
+package fr.yourserver.whitelistbot.database;
+
+/**
+ * Message privé Discord en attente dans la table dm_outbox : destinataire, contenu de l'embed
+ * et nombre de tentatives déjà faites.
+ */
+public class OutboxMessage {
+    
+    private final long id;
+    private final String discordId;
+    private final String title;
+    private final String message;
+    private final int color;
+    private final long createdTime;
+    private final int attempts;
+    
+    public OutboxMessage(long id, String discordId, String title, String message, int color, long createdTime, int attempts) {
+        this.id = id;
+        this.discordId = discordId;
+        this.title = title;
+        this.message = message;
+        this.color = color;
+        this.createdTime = createdTime;
+        this.attempts = attempts;
+    }
+    
+    public long getId() {
+        return id;
+    }
+    
+    public String getDiscordId() {
+        return discordId;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    // Couleur RGB de l'embed
+    public int getColor() {
+        return color;
+    }
+    
+    // Date de mise en file (millisecondes epoch)
+    public long getCreatedTime() {
+        return createdTime;
+    }
+    
+    public int getAttempts() {
+        return attempts;
+    }
+}
@@ -0,0 +1,36 @@
+package fr.yourserver.whitelistbot.database;
+
+import java.util.UUID;
+
+/**
+ * UUID Minecraft résolu pour un pseudo, avec la date de résolution (millisecondes epoch)
+ * pour savoir quand le rafraîchir : un pseudo peut changer de propriétaire.
+ */
+public class PlayerUuid {
+    
+    private final String username;
+    private final UUID uuid;
+    private final long resolvedTime;
+    
+    public PlayerUuid(String username, UUID uuid, long resolvedTime) {
+        this.username = username;
+        this.uuid = uuid;
+        this.resolvedTime = resolvedTime;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public UUID getUuid() {
+        return uuid;
+    }
+    
+    public long getResolvedTime() {
+        return resolvedTime;
+    }
+    
+    public boolean isFresh(long ttlMillis) {
+        return System.currentTimeMillis() - resolvedTime < ttlMillis;
+    }
+}
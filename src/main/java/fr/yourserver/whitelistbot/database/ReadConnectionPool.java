@@ -0,0 +1,102 @@
+package fr.yourserver.whitelistbot.database;
+
+import org.sqlite.SQLiteConfig;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Petit pool de connexions SQLite en lecture seule.
+ * En mode WAL les lecteurs ne bloquent pas le thread d'écriture (et inversement).
+ */
+public class ReadConnectionPool {
+
+    private final BlockingQueue<Connection> idle;
+    private final List<Connection> connections = new ArrayList<>();
+    private final long acquireTimeoutMillis;
+    private volatile boolean closed = false;
+
+    public ReadConnectionPool(String url, int size, long acquireTimeoutMillis, int busyTimeoutMillis,
+                              List<String> pragmas) throws SQLException {
+        int poolSize = Math.max(1, size);
+        this.idle = new ArrayBlockingQueue<>(poolSize);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+
+        SQLiteConfig config = new SQLiteConfig();
+        config.setReadOnly(true);
+        config.setBusyTimeout(busyTimeoutMillis);
+
+        try {
+            for (int i = 0; i < poolSize; i++) {
+                Connection connection = DriverManager.getConnection(url, config.toProperties());
+                try (Statement stmt = connection.createStatement()) {
+                    for (String pragma : pragmas) {
+                        stmt.execute(pragma);
+                    }
+                }
+                connections.add(connection);
+                idle.add(connection);
+            }
+        } catch (SQLException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Exécute une lecture sur une connexion du pool puis la rend au pool.
+     */
+    public <T> T withConnection(SqlWork<T> work) throws SQLException {
+        Connection connection = acquire();
+        try {
+            return work.execute(connection);
+        } finally {
+            idle.offer(connection);
+        }
+    }
+
+    private Connection acquire() throws SQLException {
+        if (closed) {
+            throw new SQLException("Le pool de lecture est fermé");
+        }
+
+        try {
+            Connection connection = idle.poll(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+            if (connection == null) {
+                throw new SQLException("Aucune connexion de lecture disponible après " + acquireTimeoutMillis + " ms");
+            }
+            return connection;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrompu pendant l'attente d'une connexion de lecture", e);
+        }
+    }
+
+    public int getSize() {
+        return connections.size();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public void close() {
+        closed = true;
+        for (Connection connection : connections) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // Fermeture au mieux
+            }
+        }
+        connections.clear();
+        idle.clear();
+    }
+}
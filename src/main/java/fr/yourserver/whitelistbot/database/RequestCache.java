@@ -0,0 +1,196 @@
+package fr.yourserver.whitelistbot.database;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache mémoire des demandes, indexé par ID Discord et par pseudo Minecraft (en minuscules).
+ * Les lectures sont sans verrou ; les écritures sont sérialisées pour garder les deux index cohérents.
+ * Au-delà de la taille maximale, les entrées les moins récemment utilisées sont évincées.
+ */
+public class RequestCache {
+
+    private static final class Entry {
+        private final WhitelistRequest request;
+        private volatile long lastAccess;
+
+        private Entry(WhitelistRequest request) {
+            this.request = request;
+            this.lastAccess = System.nanoTime();
+        }
+
+        private WhitelistRequest touch() {
+            lastAccess = System.nanoTime();
+            return request;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Entry> byDiscordId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Entry> byUsername = new ConcurrentHashMap<>();
+    // Pseudos demandés par plusieurs comptes Discord : toujours relus en base
+    private final Set<String> ambiguousUsernames = ConcurrentHashMap.newKeySet();
+    private final AtomicLong writeStamp = new AtomicLong();
+    private final Object writeLock = new Object();
+    private final int maxSize;
+    // Vrai tant que le cache contient toutes les lignes de la table : un absent l'est aussi en base
+    private volatile boolean complete = false;
+
+    public RequestCache(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    public WhitelistRequest getByDiscordId(String discordId) {
+        Entry entry = byDiscordId.get(discordId);
+        return entry != null ? entry.touch() : null;
+    }
+
+    public WhitelistRequest getByUsername(String minecraftUsername) {
+        Entry entry = byUsername.get(minecraftUsername.toLowerCase(Locale.ROOT));
+        return entry != null ? entry.touch() : null;
+    }
+
+    /**
+     * Indique si une absence dans le cache garantit l'absence en base pour cet ID Discord.
+     */
+    public boolean isAuthoritativeForDiscordId() {
+        return complete;
+    }
+
+    /**
+     * Indique si une absence dans le cache garantit l'absence en base pour ce pseudo.
+     */
+    public boolean isAuthoritativeForUsername(String minecraftUsername) {
+        return complete && !ambiguousUsernames.contains(minecraftUsername.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Marqueur à relever avant une lecture en base, puis à passer à {@link #putIfUnchanged}.
+     */
+    public long getWriteStamp() {
+        return writeStamp.get();
+    }
+
+    /**
+     * Insère une ligne lue en base, sauf si une écriture a eu lieu depuis la lecture
+     * (la ligne lue pourrait alors être périmée).
+     */
+    public void putIfUnchanged(long stamp, WhitelistRequest request) {
+        synchronized (writeLock) {
+            if (writeStamp.get() == stamp) {
+                putLocked(request);
+            }
+        }
+    }
+
+    // Appelé après la validation d'une écriture
+    public void put(WhitelistRequest request) {
+        synchronized (writeLock) {
+            writeStamp.incrementAndGet();
+            putLocked(request);
+        }
+    }
+
+    // Appelé après la validation d'une suppression
+    public void remove(String discordId) {
+        synchronized (writeLock) {
+            writeStamp.incrementAndGet();
+            Entry removed = byDiscordId.remove(discordId);
+            if (removed != null) {
+                byUsername.remove(removed.request.getMinecraftUsername().toLowerCase(Locale.ROOT), removed);
+            }
+        }
+    }
+
+    /**
+     * Oublie une entrée dont l'état en base est incertain (écriture en échec) : la prochaine lecture ira en base.
+     */
+    public void invalidate(String discordId) {
+        synchronized (writeLock) {
+            writeStamp.incrementAndGet();
+            Entry removed = byDiscordId.remove(discordId);
+            if (removed != null) {
+                byUsername.remove(removed.request.getMinecraftUsername().toLowerCase(Locale.ROOT), removed);
+            }
+            complete = false;
+        }
+    }
+
+    /**
+     * Remplit le cache au démarrage. {@code allRows} indique que la liste contient toute la table.
+     */
+    public void hydrate(List<WhitelistRequest> requests, boolean allRows) {
+        synchronized (writeLock) {
+            writeStamp.incrementAndGet();
+            byDiscordId.clear();
+            byUsername.clear();
+            ambiguousUsernames.clear();
+            complete = false;
+
+            for (WhitelistRequest request : requests) {
+                putLocked(request);
+            }
+            complete = allRows && byDiscordId.size() == requests.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (writeLock) {
+            writeStamp.incrementAndGet();
+            byDiscordId.clear();
+            byUsername.clear();
+            ambiguousUsernames.clear();
+            complete = false;
+        }
+    }
+
+    public int size() {
+        return byDiscordId.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    private void putLocked(WhitelistRequest request) {
+        Entry entry = new Entry(request);
+        String username = request.getMinecraftUsername().toLowerCase(Locale.ROOT);
+
+        Entry previous = byDiscordId.put(request.getDiscordId(), entry);
+        if (previous != null) {
+            byUsername.remove(previous.request.getMinecraftUsername().toLowerCase(Locale.ROOT), previous);
+        }
+
+        Entry sameUsername = byUsername.get(username);
+        if (ambiguousUsernames.contains(username)) {
+            // Déjà ambigu : on ne l'indexe pas
+        } else if (sameUsername != null && !sameUsername.request.getDiscordId().equals(request.getDiscordId())) {
+            byUsername.remove(username);
+            ambiguousUsernames.add(username);
+        } else {
+            byUsername.put(username, entry);
+        }
+
+        if (byDiscordId.size() > maxSize) {
+            evictLocked();
+        }
+    }
+
+    // Évince par lots les 10 % d'entrées les moins récemment utilisées
+    private void evictLocked() {
+        int target = Math.max(0, maxSize - Math.max(1, maxSize / 10));
+        List<Entry> entries = new ArrayList<>(byDiscordId.values());
+        entries.sort(Comparator.comparingLong(entry -> entry.lastAccess));
+
+        for (int i = 0; i < entries.size() - target; i++) {
+            Entry evicted = entries.get(i);
+            byDiscordId.remove(evicted.request.getDiscordId(), evicted);
+            byUsername.remove(evicted.request.getMinecraftUsername().toLowerCase(Locale.ROOT), evicted);
+        }
+        complete = false;
+    }
+}
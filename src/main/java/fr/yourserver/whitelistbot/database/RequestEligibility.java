@@ -0,0 +1,23 @@
+package fr.yourserver.whitelistbot.database;
+
+/**
+ * État de la demande d'un utilisateur Discord, utilisé avant d'ouvrir le formulaire de demande.
+ */
+public enum RequestEligibility {
+    NONE,
+    PENDING,
+    APPROVED,
+    DENIED,
+    TICKET;
+    
+    public static RequestEligibility fromStatus(RequestStatus status) {
+        if (status == null) return PENDING;
+        
+        return switch (status) {
+            case APPROVED -> APPROVED;
+            case DENIED -> DENIED;
+            case TICKET -> TICKET;
+            case PENDING -> PENDING;
+        };
+    }
+}
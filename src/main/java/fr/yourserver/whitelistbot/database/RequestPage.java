@@ -0,0 +1,74 @@
+package fr.yourserver.whitelistbot.database;
+
+import java.util.List;
+
+/**
+ * Une page de demandes obtenue par pagination par clé, avec le nombre total de demandes.
+ */
+public class RequestPage {
+    
+    // Position dans l'ordre (request_time, id) d'une ligne de la page
+    public static class Cursor {
+        private final long requestTime;
+        private final long id;
+        
+        public Cursor(long requestTime, long id) {
+            this.requestTime = requestTime;
+            this.id = id;
+        }
+        
+        public static Cursor of(WhitelistRequest request) {
+            return new Cursor(request.getRequestTimeMillis(), request.getId());
+        }
+        
+        public long getRequestTime() {
+            return requestTime;
+        }
+        
+        public long getId() {
+            return id;
+        }
+    }
+    
+    private final List<WhitelistRequest> requests;
+    private final int totalCount;
+    private final boolean hasPrevious;
+    private final boolean hasNext;
+    
+    public RequestPage(List<WhitelistRequest> requests, int totalCount, boolean hasPrevious, boolean hasNext) {
+        this.requests = requests;
+        this.totalCount = totalCount;
+        this.hasPrevious = hasPrevious;
+        this.hasNext = hasNext;
+    }
+    
+    public List<WhitelistRequest> getRequests() {
+        return requests;
+    }
+    
+    public int getTotalCount() {
+        return totalCount;
+    }
+    
+    public boolean hasPrevious() {
+        return hasPrevious;
+    }
+    
+    public boolean hasNext() {
+        return hasNext;
+    }
+    
+    public boolean isEmpty() {
+        return requests.isEmpty();
+    }
+    
+    // Curseur pour la page précédente (première ligne de cette page)
+    public Cursor getFirstCursor() {
+        return requests.isEmpty() ? null : Cursor.of(requests.get(0));
+    }
+    
+    // Curseur pour la page suivante (dernière ligne de cette page)
+    public Cursor getLastCursor() {
+        return requests.isEmpty() ? null : Cursor.of(requests.get(requests.size() - 1));
+    }
+}
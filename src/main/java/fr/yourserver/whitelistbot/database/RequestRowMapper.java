@@ -0,0 +1,48 @@
+package fr.yourserver.whitelistbot.database;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Conversion d'une ligne de whitelist_requests en {@link WhitelistRequest}.
+ * Les colonnes sont lues par position : toute requête qui utilise ce mapper
+ * doit sélectionner {@link #COLUMNS} dans cet ordre.
+ */
+public final class RequestRowMapper {
+
+    public static final String COLUMNS =
+            "id, discord_id, discord_tag, minecraft_username, request_time, status, processed_by, processed_time, admin_message_id";
+
+    private static final int ID = 1;
+    private static final int DISCORD_ID = 2;
+    private static final int DISCORD_TAG = 3;
+    private static final int MINECRAFT_USERNAME = 4;
+    private static final int REQUEST_TIME = 5;
+    private static final int STATUS = 6;
+    private static final int PROCESSED_BY = 7;
+    private static final int PROCESSED_TIME = 8;
+    private static final int ADMIN_MESSAGE_ID = 9;
+
+    private RequestRowMapper() {
+    }
+
+    public static WhitelistRequest map(ResultSet rs) throws SQLException {
+        WhitelistRequest request = new WhitelistRequest(
+            rs.getString(DISCORD_ID),
+            rs.getString(DISCORD_TAG),
+            rs.getString(MINECRAFT_USERNAME),
+            null,
+            RequestStatus.fromCode(rs.getInt(STATUS)),
+            rs.getString(PROCESSED_BY),
+            null
+        );
+        request.setRequestTimeMillis(rs.getLong(REQUEST_TIME));
+        long processedTime = rs.getLong(PROCESSED_TIME);
+        if (!rs.wasNull()) {
+            request.setProcessedTime(Timestamps.fromEpochMillis(processedTime));
+        }
+        request.setAdminMessageId(rs.getString(ADMIN_MESSAGE_ID));
+        request.setId(rs.getLong(ID));
+        return request;
+    }
+}
@@ -0,0 +1,61 @@
+package fr.yourserver.whitelistbot.database;
+
+/**
+ * Statut d'une demande, stocké en base sous forme d'entier.
+ */
+public enum RequestStatus {
+    PENDING(0, "EN_ATTENTE", "🟠"),
+    APPROVED(1, "✅ APPROVED", "🟢"),
+    DENIED(2, "❌ DENIED", "🔴"),
+    TICKET(3, "🎫 TICKET CREATED", "🔵");
+    
+    private static final RequestStatus[] BY_CODE = new RequestStatus[values().length];
+    
+    static {
+        for (RequestStatus status : values()) {
+            BY_CODE[status.code] = status;
+        }
+    }
+    
+    private final int code;
+    private final String label;
+    private final String emoji;
+    
+    RequestStatus(int code, String label, String emoji) {
+        this.code = code;
+        this.label = label;
+        this.emoji = emoji;
+    }
+    
+    public int getCode() {
+        return code;
+    }
+    
+    public String getLabel() {
+        return label;
+    }
+    
+    public String getEmoji() {
+        return emoji;
+    }
+    
+    public static RequestStatus fromCode(int code) {
+        if (code < 0 || code >= BY_CODE.length) return PENDING;
+        return BY_CODE[code];
+    }
+    
+    // Conversion des anciens statuts texte (libellés français et anglais) lors de la migration
+    public static RequestStatus fromLegacy(String status) {
+        if (status == null) return PENDING;
+        
+        if (status.contains("APPROVED") || status.contains("APPROUVÉ")) {
+            return APPROVED;
+        } else if (status.contains("DENIED") || status.contains("REFUSÉ")) {
+            return DENIED;
+        } else if (status.contains("TICKET")) {
+            return TICKET;
+        } else {
+            return PENDING; // EN_ATTENTE
+        }
+    }
+}
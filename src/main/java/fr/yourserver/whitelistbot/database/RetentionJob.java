@@ -0,0 +1,144 @@
+package fr.yourserver.whitelistbot.database;
+
+import fr.yourserver.whitelistbot.metrics.Counter;
+import fr.yourserver.whitelistbot.metrics.MetricsRegistry;
+import fr.yourserver.whitelistbot.metrics.Timer;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * Nettoyage périodique des demandes traitées (réglages {@code cleanup.*}), hors du thread principal.
+ *
+ * <p>Les suppressions sont découpées en lots de {@code chunkSize} lignes, chacun soumis séparément au
+ * thread d'écriture : les demandes et les notifications continuent d'être enregistrées pendant le
+ * nettoyage. L'espace libéré est ensuite rendu par petites étapes d'auto_vacuum incrémental plutôt
+ * que par un VACUUM complet qui bloquerait la base.
+ */
+public class RetentionJob {
+
+    // Nombre de lots au plus par passage : le reste attend le passage suivant
+    private static final int MAX_CHUNKS_PER_RUN = 1000;
+
+    private final Plugin plugin;
+    private final DatabaseManager database;
+    private final Logger logger;
+    private final String prefix;
+    private final long deniedRetentionMillis;
+    private final long processedRetentionMillis;
+    private final int chunkSize;
+    private final int vacuumPagesPerStep;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private BukkitTask task;
+
+    private final Counter deniedDeleted;
+    private final Counter processedDeleted;
+    private final Counter pagesFreed;
+    private final Timer runTimer;
+
+    /**
+     * @param deniedRetentionDays    ancienneté des demandes refusées à supprimer (0 = jamais)
+     * @param processedRetentionDays ancienneté des demandes acceptées ou refusées à supprimer (0 = jamais)
+     */
+    public RetentionJob(Plugin plugin, DatabaseManager database, String prefix, int deniedRetentionDays,
+                        int processedRetentionDays, int chunkSize, int vacuumPagesPerStep, MetricsRegistry metrics) {
+        this.plugin = plugin;
+        this.database = database;
+        this.logger = plugin.getLogger();
+        this.prefix = prefix;
+        this.deniedRetentionMillis = TimeUnit.DAYS.toMillis(Math.max(0, deniedRetentionDays));
+        this.processedRetentionMillis = TimeUnit.DAYS.toMillis(Math.max(0, processedRetentionDays));
+        this.chunkSize = Math.max(1, chunkSize);
+        this.vacuumPagesPerStep = Math.max(1, vacuumPagesPerStep);
+
+        String help = "Requests deleted by the retention job, by the setting that expired them";
+        this.deniedDeleted = metrics.counter("whitelistbot_retention_rows_deleted_total", help, "reason", "denied");
+        this.processedDeleted = metrics.counter("whitelistbot_retention_rows_deleted_total", help, "reason", "processed");
+        this.pagesFreed = metrics.counter("whitelistbot_retention_pages_freed_total", "SQLite pages returned to the file system by incremental vacuum");
+        this.runTimer = metrics.timer("whitelistbot_retention_run_seconds", "Duration of a retention pass, deletes and vacuum included");
+    }
+
+    public boolean isEnabled() {
+        return deniedRetentionMillis > 0 || processedRetentionMillis > 0;
+    }
+
+    /**
+     * Lance un passage peu après le démarrage puis toutes les {@code intervalTicks} ticks.
+     */
+    public void start(long intervalTicks) {
+        long period = Math.max(20L, intervalTicks);
+        task = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::run, 20L * 60, period);
+    }
+
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+        }
+    }
+
+    /**
+     * Un passage complet ; ignoré si le précédent n'est pas terminé.
+     */
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            long now = System.currentTimeMillis();
+            int deleted = 0;
+            if (deniedRetentionMillis > 0) {
+                deleted += purge(RequestStatus.DENIED, now - deniedRetentionMillis, deniedDeleted);
+            }
+            if (processedRetentionMillis > 0) {
+                deleted += purge(RequestStatus.APPROVED, now - processedRetentionMillis, processedDeleted);
+                deleted += purge(RequestStatus.DENIED, now - processedRetentionMillis, processedDeleted);
+            }
+
+            int freed = deleted > 0 ? vacuum() : 0;
+            if (deleted > 0) {
+                logger.info(prefix + " Nettoyage : " + deleted + " demande(s) supprimée(s), " + freed + " page(s) libérée(s)");
+            }
+        } catch (SQLException e) {
+            logger.warning(prefix + " Erreur pendant le nettoyage des anciennes demandes : " + e.getMessage());
+        } finally {
+            runTimer.recordSince(start);
+            running.set(false);
+        }
+    }
+
+    // Lots successifs jusqu'à un lot incomplet
+    private int purge(RequestStatus status, long processedBefore, Counter counter) throws SQLException {
+        int total = 0;
+        for (int chunk = 0; chunk < MAX_CHUNKS_PER_RUN && !Thread.currentThread().isInterrupted(); chunk++) {
+            List<String> deleted = DatabaseWriter.await(database.deleteExpiredAsync(status, processedBefore, chunkSize));
+            counter.add(deleted.size());
+            total += deleted.size();
+            if (deleted.size() < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    // Étapes bornées jusqu'à ce qu'il ne reste plus de page libre
+    private int vacuum() throws SQLException {
+        int total = 0;
+        for (int step = 0; step < MAX_CHUNKS_PER_RUN && !Thread.currentThread().isInterrupted(); step++) {
+            int freed = DatabaseWriter.await(database.incrementalVacuumAsync(vacuumPagesPerStep));
+            pagesFreed.add(freed);
+            total += freed;
+            if (freed < vacuumPagesPerStep) {
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,172 @@
+package fr.yourserver.whitelistbot.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Applique dans l'ordre les migrations pas encore présentes dans la table schema_version.
+ * Chaque migration est exécutée dans sa propre transaction ; une migration longue peut
+ * valider des lots intermédiaires à condition de pouvoir reprendre là où elle s'est arrêtée.
+ * Une migration non transactionnelle s'exécute en autocommit et n'est enregistrée qu'ensuite.
+ */
+public class SchemaMigrator {
+    
+    private final Connection connection;
+    private final Logger logger;
+    private final String prefix;
+    private final List<Migration> migrations;
+    
+    public SchemaMigrator(Connection connection, Logger logger, String prefix) {
+        this.connection = connection;
+        this.logger = logger;
+        this.prefix = prefix;
+        this.migrations = List.of(
+            new Migration(1, "Table des demandes de whitelist", conn -> execute(conn, """
+                CREATE TABLE IF NOT EXISTS whitelist_requests (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    discord_id TEXT UNIQUE NOT NULL,
+                    discord_tag TEXT NOT NULL,
+                    minecraft_username TEXT NOT NULL,
+                    request_time TEXT NOT NULL,
+                    status TEXT DEFAULT 'EN_ATTENTE',
+                    processed_by TEXT,
+                    processed_time TEXT
+                )
+            """)),
+        
+            new Migration(2, "Index sur le pseudo Minecraft, le statut et la date de demande", conn -> {
+                // /lookup, /whitelist-remove et la vérification de doublon (COLLATE NOCASE)
+                execute(conn, "CREATE INDEX IF NOT EXISTS idx_requests_username ON whitelist_requests (minecraft_username COLLATE NOCASE)");
+                // Listes filtrées par statut triées par date, et comptage par statut
+                execute(conn, "CREATE INDEX IF NOT EXISTS idx_requests_status_time ON whitelist_requests (status, request_time)");
+                // Liste complète triée par date
+                execute(conn, "CREATE INDEX IF NOT EXISTS idx_requests_time ON whitelist_requests (request_time)");
+            }),
+        
+            new Migration(3, "Statut en entier et dates en millisecondes epoch", 
+                    new TypedStorageMigration(logger, prefix)::apply),
+        
+            new Migration(4, "Cache persistant pseudo -> UUID Minecraft", conn -> execute(conn, """
+                CREATE TABLE IF NOT EXISTS player_uuids (
+                    username TEXT PRIMARY KEY COLLATE NOCASE,
+                    uuid TEXT NOT NULL,
+                    resolved_time INTEGER NOT NULL
+                )
+            """)),
+        
+            new Migration(5, "Message du salon admin associé à chaque demande", conn -> 
+                // Permet de mettre à jour l'embed admin sans l'interaction du bouton (/whitelist-bulk)
+                execute(conn, "ALTER TABLE whitelist_requests ADD COLUMN admin_message_id TEXT")),
+        
+            new Migration(6, "File persistante des messages privés Discord", conn -> {
+                execute(conn, """
+                    CREATE TABLE IF NOT EXISTS dm_outbox (
+                        id INTEGER PRIMARY KEY AUTOINCREMENT,
+                        discord_id TEXT NOT NULL,
+                        title TEXT NOT NULL,
+                        message TEXT NOT NULL,
+                        color INTEGER NOT NULL,
+                        created_time INTEGER NOT NULL,
+                        attempts INTEGER NOT NULL DEFAULT 0,
+                        next_attempt_time INTEGER NOT NULL,
+                        last_error TEXT
+                    )
+                """);
+                // Messages à envoyer maintenant, dans l'ordre
+                execute(conn, "CREATE INDEX IF NOT EXISTS idx_dm_outbox_due ON dm_outbox (next_attempt_time, id)");
+            }),
+        
+            new Migration(7, "Salons de ticket (un par demandeur)", conn -> execute(conn, """
+                CREATE TABLE IF NOT EXISTS tickets (
+                    discord_id TEXT PRIMARY KEY,
+                    channel_id TEXT UNIQUE NOT NULL,
+                    created_time INTEGER NOT NULL
+                )
+            """)),
+        
+            new Migration(8, "Index des demandes traitées par date de traitement (nettoyage)", conn -> execute(conn,
+                    "CREATE INDEX IF NOT EXISTS idx_requests_status_processed ON whitelist_requests (status, processed_time)")),
+        
+            // auto_vacuum ne change qu'au VACUUM suivant, qui ne peut pas s'exécuter dans une transaction
+            new Migration(9, "auto_vacuum incrémental pour rendre l'espace libéré par le nettoyage", false, conn -> {
+                execute(conn, "PRAGMA auto_vacuum = INCREMENTAL");
+                execute(conn, "VACUUM");
+            }),
+        
+            // Triée par date : rechargement de la fenêtre et purge sont des parcours d'intervalle
+            new Migration(10, "Tentatives de demande (limite par jour)", conn -> execute(conn, """
+                CREATE TABLE IF NOT EXISTS request_attempts (
+                    attempt_time INTEGER NOT NULL,
+                    discord_id TEXT NOT NULL,
+                    PRIMARY KEY (attempt_time, discord_id)
+                ) WITHOUT ROWID
+            """))
+        );
+    }
+    
+    public void migrate() throws SQLException {
+        execute(connection, """
+            CREATE TABLE IF NOT EXISTS schema_version (
+                version INTEGER PRIMARY KEY,
+                description TEXT NOT NULL,
+                applied_time TEXT NOT NULL
+            )
+        """);
+        
+        int currentVersion = getCurrentVersion();
+        
+        for (Migration migration : migrations) {
+            if (migration.getVersion() <= currentVersion) continue;
+            
+            if (!migration.isTransactional()) {
+                migration.apply(connection);
+                recordVersion(migration);
+                logger.info(prefix + " Migration " + migration.getVersion() + " appliquée : " + migration.getDescription());
+                continue;
+            }
+            
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                migration.apply(connection);
+                recordVersion(migration);
+                connection.commit();
+                logger.info(prefix + " Migration " + migration.getVersion() + " appliquée : " + migration.getDescription());
+            } catch (SQLException e) {
+                connection.rollback();
+                throw new SQLException("Échec de la migration " + migration.getVersion() + " : " + e.getMessage(), e);
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+    
+    private void recordVersion(Migration migration) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "INSERT INTO schema_version (version, description, applied_time) VALUES (?, ?, ?)")) {
+            stmt.setInt(1, migration.getVersion());
+            stmt.setString(2, migration.getDescription());
+            stmt.setString(3, LocalDateTime.now().toString());
+            stmt.executeUpdate();
+        }
+    }
+    
+    public int getCurrentVersion() throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+    
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate(sql);
+        }
+    }
+}
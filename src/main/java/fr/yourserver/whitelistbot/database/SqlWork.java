@@ -0,0 +1,12 @@
+package fr.yourserver.whitelistbot.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Unité de travail exécutée sur une connexion fournie par le writer ou le pool de lecture.
+ */
+@FunctionalInterface
+public interface SqlWork<T> {
+    T execute(Connection connection) throws SQLException;
+}
@@ -0,0 +1,54 @@
+package fr.yourserver.whitelistbot.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Requêtes préparées une seule fois par connexion puis réutilisées.
+ * Une connexion n'est utilisée que par un thread à la fois (pool de lecture ou thread d'écriture),
+ * donc le cache propre à chaque connexion n'a pas besoin d'être synchronisé.
+ * Les requêtes obtenues ici ne doivent pas être fermées par l'appelant (seuls leurs ResultSet).
+ */
+public class StatementCache {
+
+    private final Map<Connection, Map<String, PreparedStatement>> statements = new ConcurrentHashMap<>();
+
+    public PreparedStatement prepare(Connection connection, String sql) throws SQLException {
+        Map<String, PreparedStatement> byConnection = statements.computeIfAbsent(connection, ignored -> new HashMap<>());
+
+        PreparedStatement stmt = byConnection.get(sql);
+        if (stmt == null || stmt.isClosed()) {
+            stmt = connection.prepareStatement(sql);
+            byConnection.put(sql, stmt);
+        }
+        return stmt;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<String, PreparedStatement> byConnection : statements.values()) {
+            size += byConnection.size();
+        }
+        return size;
+    }
+
+    /**
+     * Ferme toutes les requêtes préparées ; à appeler avant de fermer les connexions.
+     */
+    public void close() {
+        for (Map<String, PreparedStatement> byConnection : statements.values()) {
+            for (PreparedStatement stmt : byConnection.values()) {
+                try {
+                    stmt.close();
+                } catch (SQLException ignored) {
+                    // Fermeture au mieux
+                }
+            }
+        }
+        statements.clear();
+    }
+}
@@ -0,0 +1,58 @@
+package fr.yourserver.whitelistbot.database;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index mémoire des salons de ticket dans les deux sens (demandeur -> salon, salon -> demandeur),
+ * chargé depuis la table tickets au démarrage. Lectures en temps constant et sans verrou ;
+ * les modifications gardent les deux sens cohérents.
+ */
+public class TicketIndex {
+    
+    private final Map<String, String> channelByRequester = new ConcurrentHashMap<>();
+    private final Map<String, String> requesterByChannel = new ConcurrentHashMap<>();
+    
+    public String getChannel(String discordId) {
+        return channelByRequester.get(discordId);
+    }
+    
+    public String getRequester(String channelId) {
+        return requesterByChannel.get(channelId);
+    }
+    
+    public boolean isRequester(String channelId, String discordId) {
+        return discordId.equals(requesterByChannel.get(channelId));
+    }
+    
+    // Un seul ticket par demandeur : l'ancien salon éventuel est oublié
+    synchronized void put(String discordId, String channelId) {
+        String previous = channelByRequester.put(discordId, channelId);
+        if (previous != null) {
+            requesterByChannel.remove(previous);
+        }
+        requesterByChannel.put(channelId, discordId);
+    }
+    
+    synchronized String removeByChannel(String channelId) {
+        String discordId = requesterByChannel.remove(channelId);
+        if (discordId != null) {
+            channelByRequester.remove(discordId, channelId);
+        }
+        return discordId;
+    }
+    
+    synchronized void clear() {
+        channelByRequester.clear();
+        requesterByChannel.clear();
+    }
+    
+    public Set<String> getChannels() {
+        return Set.copyOf(requesterByChannel.keySet());
+    }
+    
+    public int size() {
+        return requesterByChannel.size();
+    }
+}
@@ -0,0 +1,25 @@
+package fr.yourserver.whitelistbot.database;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Conversion entre les dates du modèle et les millisecondes epoch stockées en base.
+ */
+public final class Timestamps {
+    
+    // ZoneId.systemDefault() relit le fuseau par défaut à chaque appel
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    
+    private Timestamps() {
+    }
+    
+    public static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZONE).toInstant().toEpochMilli();
+    }
+    
+    public static LocalDateTime fromEpochMillis(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZONE);
+    }
+}
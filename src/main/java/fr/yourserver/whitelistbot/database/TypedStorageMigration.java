@@ -0,0 +1,125 @@
+package fr.yourserver.whitelistbot.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.logging.Logger;
+
+/**
+ * Réécrit whitelist_requests avec un statut entier et des dates en millisecondes epoch.
+ * Les lignes sont copiées par lots validés un par un dans une table temporaire :
+ * après un arrêt en cours de route, la migration reprend après le dernier ID copié.
+ */
+public class TypedStorageMigration {
+    
+    private static final int BATCH_SIZE = 1000;
+    
+    private final Logger logger;
+    private final String prefix;
+    
+    public TypedStorageMigration(Logger logger, String prefix) {
+        this.logger = logger;
+        this.prefix = prefix;
+    }
+    
+    public void apply(Connection conn) throws SQLException {
+        execute(conn, """
+            CREATE TABLE IF NOT EXISTS whitelist_requests_typed (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                discord_id TEXT UNIQUE NOT NULL,
+                discord_tag TEXT NOT NULL,
+                minecraft_username TEXT NOT NULL,
+                request_time INTEGER NOT NULL,
+                status INTEGER NOT NULL DEFAULT 0,
+                processed_by TEXT,
+                processed_time INTEGER
+            )
+        """);
+        conn.commit();
+        
+        String select = """
+            SELECT id, discord_id, discord_tag, minecraft_username, request_time, status, processed_by, processed_time
+            FROM whitelist_requests
+            WHERE id > (SELECT COALESCE(MAX(id), 0) FROM whitelist_requests_typed)
+            ORDER BY id
+            LIMIT ?
+        """;
+        String insert = """
+            INSERT INTO whitelist_requests_typed
+            (id, discord_id, discord_tag, minecraft_username, request_time, status, processed_by, processed_time)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+        
+        int copied = 0;
+        int batch;
+        do {
+            batch = 0;
+            try (PreparedStatement selectStmt = conn.prepareStatement(select);
+                 PreparedStatement insertStmt = conn.prepareStatement(insert)) {
+                selectStmt.setInt(1, BATCH_SIZE);
+                
+                try (ResultSet rs = selectStmt.executeQuery()) {
+                    while (rs.next()) {
+                        insertStmt.setLong(1, rs.getLong(1));
+                        insertStmt.setString(2, rs.getString(2));
+                        insertStmt.setString(3, rs.getString(3));
+                        insertStmt.setString(4, rs.getString(4));
+                        insertStmt.setLong(5, parseLegacyTime(rs.getString(5), 0L));
+                        insertStmt.setInt(6, RequestStatus.fromLegacy(rs.getString(6)).getCode());
+                        insertStmt.setString(7, rs.getString(7));
+                        
+                        String processedTime = rs.getString(8);
+                        if (processedTime != null) {
+                            insertStmt.setLong(8, parseLegacyTime(processedTime, 0L));
+                        } else {
+                            insertStmt.setNull(8, Types.INTEGER);
+                        }
+                        
+                        insertStmt.addBatch();
+                        batch++;
+                    }
+                }
+                
+                if (batch > 0) {
+                    insertStmt.executeBatch();
+                }
+            }
+            
+            // Chaque lot est validé : un redémarrage reprend ici
+            conn.commit();
+            copied += batch;
+            if (batch > 0) {
+                logger.info(prefix + " Conversion des demandes : " + copied + " lignes copiées");
+            }
+        } while (batch == BATCH_SIZE);
+        
+        // Bascule : l'ancienne table (et ses index) est remplacée par la table typée
+        execute(conn, "DROP TABLE whitelist_requests");
+        execute(conn, "ALTER TABLE whitelist_requests_typed RENAME TO whitelist_requests");
+        execute(conn, "CREATE INDEX IF NOT EXISTS idx_requests_username ON whitelist_requests (minecraft_username COLLATE NOCASE)");
+        execute(conn, "CREATE INDEX IF NOT EXISTS idx_requests_status_time ON whitelist_requests (status, request_time)");
+        execute(conn, "CREATE INDEX IF NOT EXISTS idx_requests_time ON whitelist_requests (request_time)");
+    }
+    
+    private long parseLegacyTime(String value, long fallback) {
+        if (value == null) return fallback;
+        
+        try {
+            return Timestamps.toEpochMillis(LocalDateTime.parse(value));
+        } catch (DateTimeParseException e) {
+            logger.warning(prefix + " Date illisible conservée à 0 lors de la migration : " + value);
+            return fallback;
+        }
+    }
+    
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate(sql);
+        }
+    }
+}
@@ -5,13 +5,20 @@ import java.time.format.DateTimeFormatter;
 
 public class WhitelistRequest {
     
+    // DateTimeFormatter est immuable et sans état : une seule instance pour tous les affichages
+    private static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    
+    private long id;
     private String discordId;
     private String discordTag;
     private String minecraftUsername;
     private LocalDateTime requestTime;
-    private String status;
+    // Valeur stockée en base : source des curseurs de pagination, sans aller-retour par le fuseau local
+    private long requestTimeMillis;
+    private RequestStatus status;
     private String processedBy;
     private LocalDateTime processedTime;
+    private String adminMessageId;
     
     // Constructeur pour nouvelle demande
     public WhitelistRequest(String discordId, String discordTag, String minecraftUsername, LocalDateTime requestTime) {
@@ -19,22 +26,28 @@ public class WhitelistRequest {
         this.discordTag = discordTag;
         this.minecraftUsername = minecraftUsername;
         this.requestTime = requestTime;
-        this.status = "EN_ATTENTE";
+        this.requestTimeMillis = toEpochMillis(requestTime);
+        this.status = RequestStatus.PENDING;
     }
     
     // Constructeur complet pour récupération depuis la base de données
     public WhitelistRequest(String discordId, String discordTag, String minecraftUsername, 
-                          LocalDateTime requestTime, String status, String processedBy, LocalDateTime processedTime) {
+                          LocalDateTime requestTime, RequestStatus status, String processedBy, LocalDateTime processedTime) {
         this.discordId = discordId;
         this.discordTag = discordTag;
         this.minecraftUsername = minecraftUsername;
         this.requestTime = requestTime;
+        this.requestTimeMillis = toEpochMillis(requestTime);
         this.status = status;
         this.processedBy = processedBy;
         this.processedTime = processedTime;
     }
     
     // Getters
+    public long getId() {
+        return id;
+    }
+    
     public String getDiscordId() {
         return discordId;
     }
@@ -51,7 +64,11 @@ public class WhitelistRequest {
         return requestTime;
     }
     
-    public String getStatus() {
+    public long getRequestTimeMillis() {
+        return requestTimeMillis;
+    }
+    
+    public RequestStatus getStatus() {
         return status;
     }
     
@@ -63,7 +80,16 @@ public class WhitelistRequest {
         return processedTime;
     }
     
+    // Message du salon admin qui présente la demande (null pour les demandes antérieures à la migration 5)
+    public String getAdminMessageId() {
+        return adminMessageId;
+    }
+    
     // Setters
+    public void setId(long id) {
+        this.id = id;
+    }
+    
     public void setDiscordId(String discordId) {
         this.discordId = discordId;
     }
@@ -78,9 +104,16 @@ public class WhitelistRequest {
     
     public void setRequestTime(LocalDateTime requestTime) {
         this.requestTime = requestTime;
+        this.requestTimeMillis = toEpochMillis(requestTime);
+    }
+    
+    // Instant exact lu en base ; une heure locale ambiguë (changement d'heure) ne le détermine pas
+    public void setRequestTimeMillis(long requestTimeMillis) {
+        this.requestTime = Timestamps.fromEpochMillis(requestTimeMillis);
+        this.requestTimeMillis = requestTimeMillis;
     }
     
-    public void setStatus(String status) {
+    public void setStatus(RequestStatus status) {
         this.status = status;
     }
     
@@ -92,30 +125,55 @@ public class WhitelistRequest {
         this.processedTime = processedTime;
     }
     
+    public void setAdminMessageId(String adminMessageId) {
+        this.adminMessageId = adminMessageId;
+    }
+    
     // Méthodes utilitaires
+    
+    // Copie avec un nouveau statut : les instances partagées par le cache ne sont jamais modifiées
+    public WhitelistRequest withStatus(RequestStatus status, String processedBy, LocalDateTime processedTime) {
+        WhitelistRequest copy = new WhitelistRequest(discordId, discordTag, minecraftUsername, requestTime, 
+                                                     status, processedBy, processedTime);
+        copy.id = id;
+        copy.requestTimeMillis = requestTimeMillis;
+        copy.adminMessageId = adminMessageId;
+        return copy;
+    }
+    
+    public WhitelistRequest withAdminMessageId(String adminMessageId) {
+        WhitelistRequest copy = withStatus(status, processedBy, processedTime);
+        copy.adminMessageId = adminMessageId;
+        return copy;
+    }
+    
+    private static long toEpochMillis(LocalDateTime time) {
+        return time != null ? Timestamps.toEpochMillis(time) : 0L;
+    }
+    
     public String getFormattedRequestTime() {
-        return requestTime.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"));
+        return requestTime.format(DISPLAY_FORMAT);
     }
     
     public String getFormattedProcessedTime() {
         if (processedTime == null) return "N/A";
-        return processedTime.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"));
+        return processedTime.format(DISPLAY_FORMAT);
     }
     
     public boolean isPending() {
-        return "EN_ATTENTE".equals(status);
+        return status == RequestStatus.PENDING;
     }
     
     public boolean isApproved() {
-        return status != null && status.contains("APPROUVÉ");
+        return status == RequestStatus.APPROVED;
     }
     
     public boolean isDenied() {
-        return status != null && status.contains("REFUSÉ");
+        return status == RequestStatus.DENIED;
     }
     
     public boolean isTicket() {
-        return status != null && status.contains("TICKET");
+        return status == RequestStatus.TICKET;
     }
     
     @Override
@@ -125,7 +183,7 @@ public class WhitelistRequest {
                 ", discordTag='" + discordTag + '\'' +
                 ", minecraftUsername='" + minecraftUsername + '\'' +
                 ", requestTime=" + requestTime +
-                ", status='" + status + '\'' +
+                ", status=" + status +
                 ", processedBy='" + processedBy + '\'' +
                 ", processedTime=" + processedTime +
                 '}';
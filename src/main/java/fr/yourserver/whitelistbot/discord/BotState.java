@@ -0,0 +1,14 @@
+package fr.yourserver.whitelistbot.discord;
+
+/**
+ * Connection state of the Discord bot. The plugin is enabled before the gateway is ready,
+ * so Discord features may be unavailable while the state is not {@link #READY}.
+ */
+public enum BotState {
+    /** Logging in, or waiting before the next attempt */
+    CONNECTING,
+    /** Gateway ready: slash commands registered, interactions handled */
+    READY,
+    /** Gave up: invalid token, or no more attempts left */
+    FAILED
+}
@@ -6,12 +6,19 @@ import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.*;
 import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
 import net.dv8tion.jda.api.entities.channel.concrete.Category;
+import net.dv8tion.jda.api.events.channel.ChannelDeleteEvent;
 import net.dv8tion.jda.api.events.interaction.ModalInteractionEvent;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.events.interaction.component.ButtonInteractionEvent;
+import net.dv8tion.jda.api.events.http.HttpRequestEvent;
 import net.dv8tion.jda.api.events.session.ReadyEvent;
+import net.dv8tion.jda.api.events.session.ShutdownEvent;
+import net.dv8tion.jda.api.exceptions.InvalidTokenException;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.api.interactions.InteractionHook;
+import net.dv8tion.jda.api.interactions.callbacks.IReplyCallback;
 import net.dv8tion.jda.api.interactions.commands.build.Commands;
+import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.components.ActionRow;
 import net.dv8tion.jda.api.interactions.components.buttons.Button;
@@ -19,58 +26,293 @@ import net.dv8tion.jda.api.interactions.components.text.TextInput;
 import net.dv8tion.jda.api.interactions.components.text.TextInputStyle;
 import net.dv8tion.jda.api.interactions.modals.Modal;
 import net.dv8tion.jda.api.requests.GatewayIntent;
+import net.dv8tion.jda.api.utils.messages.MessageCreateBuilder;
+import net.dv8tion.jda.api.utils.messages.MessageCreateData;
 import net.dv8tion.jda.api.Permission;
-import org.bukkit.Bukkit;
-import org.bukkit.OfflinePlayer;
 import fr.yourserver.whitelistbot.WhitelistBot;
+import fr.yourserver.whitelistbot.database.AsyncDatabaseManager;
+import fr.yourserver.whitelistbot.database.RequestEligibility;
+import fr.yourserver.whitelistbot.database.RequestPage;
+import fr.yourserver.whitelistbot.database.RequestStatus;
 import fr.yourserver.whitelistbot.database.WhitelistRequest;
+import fr.yourserver.whitelistbot.metrics.Counter;
+import fr.yourserver.whitelistbot.metrics.MetricsRegistry;
+import fr.yourserver.whitelistbot.metrics.Timer;
+import fr.yourserver.whitelistbot.mojang.MojangProfile;
+import fr.yourserver.whitelistbot.mojang.TokenBucket;
+import fr.yourserver.whitelistbot.mojang.UsernameVerifier;
+import fr.yourserver.whitelistbot.whitelist.RequestRateLimiter;
+import fr.yourserver.whitelistbot.whitelist.WhitelistMutationQueue;
 
 import java.awt.*;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.EnumSet;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+import java.util.LinkedHashSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class DiscordBotManager extends ListenerAdapter {
     
+    // /whitelist-list filters -> status stored in database (no filter = all requests)
+    private static final Map<String, RequestStatus> LIST_FILTERS = Map.of(
+            "pending", RequestStatus.PENDING,
+            "approved", RequestStatus.APPROVED,
+            "denied", RequestStatus.DENIED,
+            "ticket", RequestStatus.TICKET
+    );
+    private static final String LIST_FILTER_ALL = "all";
+    // Stands for "accepted without asking Mojang" (verification disabled or Mojang unreachable)
+    private static final MojangProfile UNVERIFIED = new MojangProfile(null, null);
+    
     private final WhitelistBot plugin;
-    private JDA jda;
+    private volatile JDA jda;
+    private volatile BotState state;
+    // Login attempts and paced bulk REST calls run here, never on the server thread
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "WhitelistBot-Discord-Scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private int connectAttempts;
+    private int connectGeneration;
+    private ScheduledFuture<?> connectTimeout;
+    private volatile boolean stopping;
     private String requestChannelId;
     private String adminChannelId;
     private String ticketCategoryId;
     private List<String> allowedRoles;
-    private final ConcurrentHashMap<String, WhitelistRequest> pendingRequests = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, Integer> listPages = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, String> ticketChannels = new ConcurrentHashMap<>(); // discordId -> channelId
+    // Per-user interaction state, forgotten once discord.interaction-timeout has passed
+    private final ExpiringSessionStore<WhitelistRequest> pendingRequests;
+    private final ExpiringSessionStore<Integer> listPages;
     private boolean requestEmbedSent = false;
+    private final ExecutorService interactionExecutor;
+    private final AtomicInteger interactionsInFlight = new AtomicInteger();
+    private final Timer slashCommandTimer;
+    private final Timer buttonTimer;
+    private final Timer modalTimer;
+    private final Counter rejectedInteractions;
+    private final Counter restSuccess;
+    private final Counter restFailure;
+    private final Counter restRateLimited;
+    private final RestFanOut bulkFanOut;
+    private final DiscordUserCache userCache;
+    private final DmOutbox dmOutbox;
+    // Replaced as a whole on reload, so a message is never built from two versions of the config
+    private volatile MessageTemplates messages;
+    
+    /**
+     * Does not connect: call {@link #start()}, which logs in in the background.
+     */
+    public DiscordBotManager(WhitelistBot plugin) {
+        this(plugin, null);
+    }
     
-    public DiscordBotManager(WhitelistBot plugin) throws Exception {
+    /**
+     * Uses an existing JDA instance instead of logging in (the load-test harness passes a stand-in).
+     * Events are not registered: the caller invokes the listener methods itself.
+     */
+    public DiscordBotManager(WhitelistBot plugin, JDA jda) {
         this.plugin = plugin;
+        this.jda = jda;
+        this.state = jda != null ? BotState.READY : BotState.CONNECTING;
+        // Interaction handlers run off JDA's event thread: virtual threads on Java 21+, a bounded pool otherwise
+        this.interactionExecutor = InteractionExecutors.create(
+                plugin.getConfig().getString("discord.interaction-executor.mode", "auto"),
+                plugin.getConfig().getInt("discord.interaction-executor.max-threads", 16),
+                plugin.getConfig().getInt("discord.interaction-executor.queue-capacity", 1000),
+                plugin.getLogger(),
+                plugin.getPrefix());
         this.requestChannelId = plugin.getConfig().getString("discord-channel-request");
         this.adminChannelId = plugin.getConfig().getString("discord-channel-admin");
         this.ticketCategoryId = plugin.getConfig().getString("discord-ticket-category");
         this.allowedRoles = plugin.getConfig().getStringList("allowed-roles");
+        this.messages = new MessageTemplates(plugin.getConfig(), plugin.getLogger(), plugin.getPrefix());
+        
+        MetricsRegistry metrics = plugin.getMetrics();
+        String interactionHelp = "Time from receiving an interaction to the end of its handler, including the wait for a thread";
+        this.slashCommandTimer = metrics.timer("whitelistbot_interaction_seconds", interactionHelp, "type", "slash_command");
+        this.buttonTimer = metrics.timer("whitelistbot_interaction_seconds", interactionHelp, "type", "button");
+        this.modalTimer = metrics.timer("whitelistbot_interaction_seconds", interactionHelp, "type", "modal");
+        this.rejectedInteractions = metrics.counter("whitelistbot_interaction_rejected_total",
+                "Interactions answered with a busy reply because the interaction executor was full");
+        String restHelp = "Discord REST requests by outcome";
+        this.restSuccess = metrics.counter("whitelistbot_discord_rest_requests_total", restHelp, "outcome", "success");
+        this.restFailure = metrics.counter("whitelistbot_discord_rest_requests_total", restHelp, "outcome", "failure");
+        this.restRateLimited = metrics.counter("whitelistbot_discord_rest_requests_total", restHelp, "outcome", "rate_limited");
+        // DMs and embed edits of /whitelist-bulk: a few at a time, slowed down when Discord rate limits the bot
+        this.bulkFanOut = new RestFanOut(
+                scheduler,
+                plugin.getConfig().getInt("discord.bulk.max-in-flight", 2),
+                new TokenBucket(plugin.getConfig().getInt("discord.bulk.burst", 5),
+                        plugin.getConfig().getDouble("discord.bulk.actions-per-minute", 120)),
+                restRateLimited::get);
+        this.userCache = new DiscordUserCache(
+                plugin.getConfig().getInt("discord.user-cache.max-entries", 5000),
+                plugin.getConfig().getLong("discord.user-cache.ttl-minutes", 60), TimeUnit.MINUTES,
+                metrics);
+        // Player DMs are stored first, then sent in the background at a steady pace
+        this.dmOutbox = new DmOutbox(plugin, this, userCache, scheduler, restRateLimited::get);
+        metrics.gauge("whitelistbot_discord_state", "Discord bot state: 0 connecting, 1 ready, 2 failed",
+                () -> state.ordinal());
+        metrics.gauge("whitelistbot_interactions_in_flight", "Interactions queued or running on the interaction executor",
+                interactionsInFlight::get);
+        int interactionTimeout = plugin.getConfig().getInt("discord.interaction-timeout", 300);
+        int maxSessions = plugin.getConfig().getInt("discord.max-sessions", 10000);
+        this.pendingRequests = new ExpiringSessionStore<>("pending_requests", interactionTimeout, maxSessions, metrics);
+        this.listPages = new ExpiringSessionStore<>("list_pages", interactionTimeout, maxSessions, metrics);
+        // One tick per second: the stores count their timeout in seconds
+        scheduler.scheduleAtFixedRate(() -> {
+            pendingRequests.tick();
+            listPages.tick();
+        }, 1, 1, TimeUnit.SECONDS);
+        
+        // Sends nothing until the bot is ready
+        dmOutbox.start();
+    }
+    
+    /**
+     * Recompiles the texts, colors and date format from the current configuration.
+     * Messages already posted keep their text.
+     */
+    public void reloadMessages() {
+        messages = new MessageTemplates(plugin.getConfig(), plugin.getLogger(), plugin.getPrefix());
+    }
+    
+    /**
+     * Logs in to Discord in the background and returns immediately.
+     * Failed attempts are retried with exponential backoff until the gateway is ready.
+     */
+    public void start() {
+        state = BotState.CONNECTING;
+        scheduler.execute(this::connect);
+    }
+    
+    // Runs on the scheduler thread
+    private synchronized void connect() {
+        if (stopping) return;
+        
+        connectAttempts++;
+        int generation = ++connectGeneration;
+        plugin.getLogger().info(plugin.getPrefix() + " Connecting to Discord (attempt " + connectAttempts + ")...");
+        
+        try {
+            String token = plugin.getConfig().getString("discord-token");
+            // build() only starts the login: onReady or onShutdown tells how it ended
+            this.jda = JDABuilder.createDefault(token)
+                    .enableIntents(GatewayIntent.MESSAGE_CONTENT, GatewayIntent.GUILD_MESSAGES)
+                    .addEventListeners(this)
+                    .build();
+        } catch (InvalidTokenException e) {
+            fail("invalid Discord token");
+            return;
+        } catch (RuntimeException e) {
+            retryLater(generation, e.getMessage());
+            return;
+        }
+        
+        // A gateway that never becomes ready is abandoned and retried
+        long timeoutSeconds = plugin.getConfig().getLong("discord.connect.timeout-seconds", 60);
+        connectTimeout = scheduler.schedule(() -> {
+            synchronized (this) {
+                JDA attempt = this.jda;
+                retryLater(generation, "not ready after " + timeoutSeconds + "s");
+                if (attempt != null && this.jda == null) {
+                    attempt.shutdownNow();
+                }
+            }
+        }, timeoutSeconds, TimeUnit.SECONDS);
+    }
+    
+    private synchronized void retryLater(int generation, String reason) {
+        if (stopping || generation != connectGeneration || state != BotState.CONNECTING) return;
+        // Later events from this attempt (its shutdown after a timeout) must not schedule another retry
+        connectGeneration++;
+        this.jda = null;
+        
+        int maxAttempts = plugin.getConfig().getInt("discord.connect.max-attempts", 0);
+        if (maxAttempts > 0 && connectAttempts >= maxAttempts) {
+            fail(reason + ", no attempts left");
+            return;
+        }
         
-        String token = plugin.getConfig().getString("discord-token");
-        this.jda = JDABuilder.createDefault(token)
-                .enableIntents(GatewayIntent.MESSAGE_CONTENT, GatewayIntent.GUILD_MESSAGES)
-                .addEventListeners(this)
-                .build();
+        long initialDelay = plugin.getConfig().getLong("discord.connect.retry-initial-delay-seconds", 5);
+        long maxDelay = plugin.getConfig().getLong("discord.connect.retry-max-delay-seconds", 300);
+        long delay = Math.min(maxDelay, initialDelay << Math.min(20, connectAttempts - 1));
+        // Jitter so several servers restarted together do not retry in lockstep
+        long delayMillis = TimeUnit.SECONDS.toMillis(delay) * ThreadLocalRandom.current().nextInt(80, 121) / 100;
         
-        this.jda.awaitReady();
+        plugin.getLogger().warning(plugin.getPrefix() + " Discord connection failed (" + reason + "), retrying in "
+                + delayMillis / 1000 + "s.");
+        scheduler.schedule(this::connect, delayMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    private void fail(String reason) {
+        state = BotState.FAILED;
+        plugin.getLogger().severe(plugin.getPrefix() + " Discord bot could not connect: " + reason
+                + ". Discord features are disabled until the plugin is reloaded.");
+    }
+    
+    @Override
+    public synchronized void onShutdown(ShutdownEvent event) {
+        // Gateway closed before ever becoming ready (network error, rejected intents...)
+        if (state == BotState.CONNECTING && event.getJDA() == jda) {
+            if (event.getCloseCode() != null && !event.getCloseCode().isReconnect()) {
+                // Invalid token, disallowed intents...: retrying would fail the same way
+                fail(event.getCloseCode().getMeaning());
+                return;
+            }
+            retryLater(connectGeneration, "gateway closed with code " + event.getCode());
+        }
     }
     
     @Override
     public void onReady(ReadyEvent event) {
+        synchronized (this) {
+            if (connectTimeout != null) {
+                connectTimeout.cancel(false);
+            }
+            connectAttempts = 0;
+        }
+        state = BotState.READY;
         plugin.getLogger().info(plugin.getPrefix() + " Discord bot connected: " + event.getJDA().getSelfUser().getName());
         
         // Register slash commands globally
         jda.updateCommands().addCommands(
-            Commands.slash("whitelist-list", "View all whitelist requests with pagination"),
+            Commands.slash("whitelist-list", "View all whitelist requests with pagination")
+                    .addOptions(new OptionData(OptionType.STRING, "status", "Only show requests with this status", false)
+                            .addChoice("Pending", "pending")
+                            .addChoice("Approved", "approved")
+                            .addChoice("Denied", "denied")
+                            .addChoice("Ticket", "ticket")),
             Commands.slash("whitelist-remove", "Remove a player from whitelist and database")
-                    .addOption(OptionType.STRING, "username", "Minecraft username to remove", true)
+                    .addOption(OptionType.STRING, "username", "Minecraft username to remove", true),
+            Commands.slash("whitelist-stats", "Show the bot's performance metrics"),
+            Commands.slash("whitelist-bulk", "Approve or deny many requests at once")
+                    .addOptions(new OptionData(OptionType.STRING, "action", "Decision to apply", true)
+                                    .addChoice("Approve", "approve")
+                                    .addChoice("Deny", "deny"),
+                            new OptionData(OptionType.STRING, "status", "Only requests with this status (default: pending)", false)
+                                    .addChoice("Pending", "pending")
+                                    .addChoice("Ticket", "ticket"),
+                            new OptionData(OptionType.STRING, "usernames", "Minecraft usernames, separated by spaces or commas (default: all)", false))
         ).queue(success -> {
             plugin.getLogger().info(plugin.getPrefix() + " Slash commands registered successfully!");
         }, error -> {
@@ -78,6 +320,31 @@ public class DiscordBotManager extends ListenerAdapter {
         });
         
         setupRequestChannel();
+        pruneTickets();
+    }
+    
+    @Override
+    public void onChannelDelete(ChannelDeleteEvent event) {
+        // A ticket channel deleted by hand rather than with the close button
+        if (plugin.getAsyncDatabase().getTickets().getRequester(event.getChannel().getId()) != null) {
+            plugin.getAsyncDatabase().deleteTicket(event.getChannel().getId()).exceptionally(error -> {
+                plugin.getLogger().warning("Failed to remove deleted ticket channel: " + AsyncDatabaseManager.unwrap(error).getMessage());
+                return null;
+            });
+        }
+    }
+    
+    // Forgets tickets whose channel was deleted while the bot was offline
+    private void pruneTickets() {
+        for (String channelId : plugin.getAsyncDatabase().getTickets().getChannels()) {
+            if (jda.getTextChannelById(channelId) == null) {
+                plugin.getAsyncDatabase().deleteTicket(channelId).exceptionally(error -> {
+                    plugin.getLogger().warning("Failed to remove deleted ticket channel " + channelId + ": " 
+                            + AsyncDatabaseManager.unwrap(error).getMessage());
+                    return null;
+                });
+            }
+        }
     }
     
     private void setupRequestChannel() {
@@ -89,11 +356,12 @@ public class DiscordBotManager extends ListenerAdapter {
             return;
         }
         
-        channel.getHistory().retrievePast(20).queue(messages -> {
-            boolean botMessageExists = messages.stream()
+        String requestTitle = messages.text(MessageTemplates.Key.REQUEST_TITLE);
+        channel.getHistory().retrievePast(20).queue(history -> {
+            boolean botMessageExists = history.stream()
                     .anyMatch(msg -> msg.getAuthor().equals(jda.getSelfUser()) && 
                              msg.getEmbeds().stream().anyMatch(embed -> 
-                                 embed.getTitle() != null && embed.getTitle().contains("Whitelist Request")));
+                                 embed.getTitle() != null && embed.getTitle().equals(requestTitle)));
             
             if (!botMessageExists) {
                 sendRequestEmbed(channel);
@@ -106,13 +374,14 @@ public class DiscordBotManager extends ListenerAdapter {
     }
     
     private void sendRequestEmbed(TextChannel channel) {
+        MessageTemplates messages = this.messages;
         EmbedBuilder embed = new EmbedBuilder()
-                .setTitle("🎮 Minecraft Whitelist Request")
-                .setDescription("Click the button below to request access to our Minecraft server!")
+                .setTitle(messages.text(MessageTemplates.Key.REQUEST_TITLE))
+                .setDescription(messages.text(MessageTemplates.Key.REQUEST_DESCRIPTION))
                 .setColor(Color.BLUE)
-                .setFooter("Whitelist Bot", jda.getSelfUser().getAvatarUrl());
+                .setFooter(messages.text(MessageTemplates.Key.REQUEST_FOOTER), jda.getSelfUser().getAvatarUrl());
         
-        Button requestButton = Button.primary("request_whitelist", "Request Whitelist");
+        Button requestButton = Button.primary("request_whitelist", messages.text(MessageTemplates.Key.REQUEST_BUTTON));
         
         channel.sendMessageEmbeds(embed.build())
                 .setActionRow(requestButton)
@@ -125,6 +394,45 @@ public class DiscordBotManager extends ListenerAdapter {
     
     @Override
     public void onSlashCommandInteraction(SlashCommandInteractionEvent event) {
+        dispatch(event, slashCommandTimer, () -> handleSlashCommand(event));
+    }
+    
+    // Runs an interaction handler on the interaction executor; when it is saturated, answer right away
+    private void dispatch(IReplyCallback event, Timer timer, Runnable handler) {
+        long received = System.nanoTime();
+        interactionsInFlight.incrementAndGet();
+        try {
+            interactionExecutor.execute(() -> {
+                try {
+                    handler.run();
+                } catch (RuntimeException e) {
+                    plugin.getLogger().severe("Error handling interaction: " + e.getMessage());
+                    e.printStackTrace();
+                } finally {
+                    interactionsInFlight.decrementAndGet();
+                    timer.recordSince(received);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            interactionsInFlight.decrementAndGet();
+            rejectedInteractions.increment();
+            plugin.getLogger().warning(plugin.getPrefix() + " Interaction rejected, the bot is overloaded.");
+            event.reply("⏳ The bot is busy, please try again in a moment.").setEphemeral(true).queue();
+        }
+    }
+    
+    @Override
+    public void onHttpRequest(HttpRequestEvent event) {
+        if (event.isRateLimit()) {
+            restRateLimited.increment();
+        } else if (event.getResponse() != null && event.getResponse().isOk()) {
+            restSuccess.increment();
+        } else {
+            restFailure.increment();
+        }
+    }
+    
+    private void handleSlashCommand(SlashCommandInteractionEvent event) {
         switch (event.getName()) {
             case "whitelist-list":
                 handleWhitelistListCommand(event);
@@ -132,26 +440,60 @@ public class DiscordBotManager extends ListenerAdapter {
             case "whitelist-remove":
                 handleWhitelistRemoveCommand(event);
                 break;
+            case "whitelist-stats":
+                handleWhitelistStatsCommand(event);
+                break;
+            case "whitelist-bulk":
+                handleWhitelistBulkCommand(event);
+                break;
         }
     }
     
+    private void handleWhitelistStatsCommand(SlashCommandInteractionEvent event) {
+        if (!hasPermission(event.getMember())) {
+            event.reply("❌ You don't have permission to use this command.").setEphemeral(true).queue();
+            return;
+        }
+        
+        EmbedBuilder embed = new EmbedBuilder()
+                .setTitle("📈 WhitelistBot Metrics")
+                .setColor(Color.CYAN)
+                .setTimestamp(java.time.Instant.now());
+        
+        // One field per metric, within Discord's embed limits (25 fields, 1024 characters per value, 6000 in total)
+        int remaining = 5500;
+        for (Map.Entry<String, List<String>> metric : plugin.getMetrics().describe().entrySet()) {
+            String lines = String.join("\n", metric.getValue());
+            if (lines.length() > 1000) {
+                lines = lines.substring(0, 1000) + "\n…";
+            }
+            String value = "```" + (lines.isEmpty() ? "-" : lines) + "```";
+            
+            remaining -= metric.getKey().length() + value.length();
+            if (remaining < 0 || embed.getFields().size() == 25) break;
+            embed.addField(metric.getKey(), value, false);
+        }
+        
+        event.replyEmbeds(embed.build()).setEphemeral(true).queue();
+    }
+    
     private void handleWhitelistListCommand(SlashCommandInteractionEvent event) {
         if (!hasPermission(event.getMember())) {
             event.reply("❌ You don't have permission to use this command.").setEphemeral(true).queue();
             return;
         }
         
+        String filter = event.getOption("status") != null ? event.getOption("status").getAsString() : LIST_FILTER_ALL;
+        
         event.deferReply().queue();
         
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                List<WhitelistRequest> requests = plugin.getDatabaseManager().getAllRequests();
-                sendWhitelistList(event, requests, 0);
-            } catch (Exception e) {
-                plugin.getLogger().severe("Error fetching whitelist requests: " + e.getMessage());
-                event.getHook().sendMessage("❌ Error fetching data from database.").queue();
-            }
-        });
+        plugin.getAsyncDatabase().getRequestPage(LIST_FILTERS.get(filter), null, false, getItemsPerPage())
+                .thenAccept(page -> sendWhitelistList(event, page, filter))
+                .exceptionally(error -> {
+                    plugin.getLogger().severe("Error fetching whitelist requests: " + AsyncDatabaseManager.unwrap(error).getMessage());
+                    event.getHook().sendMessage("❌ Error fetching data from database.").queue();
+                    return null;
+                });
     }
     
     private void handleWhitelistRemoveCommand(SlashCommandInteractionEvent event) {
@@ -163,27 +505,22 @@ public class DiscordBotManager extends ListenerAdapter {
         String username = event.getOption("username").getAsString();
         event.deferReply().queue();
         
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                WhitelistRequest request = plugin.getDatabaseManager().getRequestByMinecraftUsername(username);
-                
-                if (request == null) {
-                    event.getHook().sendMessage("❌ Player `" + username + "` not found in whitelist database.").queue();
-                    return;
-                }
-                
-                // Remove from Minecraft whitelist
-                Bukkit.getScheduler().runTask(plugin, () -> {
-                    OfflinePlayer player = Bukkit.getOfflinePlayer(username);
-                    if (player.isWhitelisted()) {
-                        player.setWhitelisted(false);
-                        plugin.getLogger().info(plugin.getPrefix() + " " + username + " removed from whitelist by " + event.getUser().getAsTag());
-                    }
-                });
-                
-                // Remove from database
-                boolean removed = plugin.getDatabaseManager().deleteRequest(request.getDiscordId());
-                
+        AsyncDatabaseManager database = plugin.getAsyncDatabase();
+        database.getRequestByMinecraftUsername(username).thenCompose(request -> {
+            if (request == null) {
+                event.getHook().sendMessage("❌ Player `" + username + "` not found in whitelist database.").queue();
+                return CompletableFuture.completedFuture(null);
+            }
+            
+            // Remove from Minecraft whitelist
+            updateWhitelist(request.getMinecraftUsername(), false, event.getUser().getAsTag()).exceptionally(error -> {
+                plugin.getLogger().warning(plugin.getPrefix() + " Could not remove " + username + " from the whitelist: "
+                        + AsyncDatabaseManager.unwrap(error).getMessage());
+                return null;
+            });
+            
+            // Remove from database
+            return database.deleteRequest(request.getDiscordId()).thenAccept(removed -> {
                 if (removed) {
                     EmbedBuilder embed = new EmbedBuilder()
                             .setTitle("✅ Player Removed Successfully")
@@ -191,7 +528,7 @@ public class DiscordBotManager extends ListenerAdapter {
                                           "**Discord User:** " + request.getDiscordTag() + "\n" +
                                           "**Original Request Date:** " + request.getFormattedRequestTime() + "\n" +
                                           "**Removed by:** " + event.getUser().getAsTag() + "\n" +
-                                          "**Removal Date:** " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("MM/dd/yyyy HH:mm")))
+                                          "**Removal Date:** " + LocalDateTime.now().format(messages.getDateFormat()))
                             .setColor(Color.RED)
                             .setFooter("Whitelist Bot", jda.getSelfUser().getAvatarUrl());
                     
@@ -203,116 +540,213 @@ public class DiscordBotManager extends ListenerAdapter {
                 } else {
                     event.getHook().sendMessage("❌ Failed to remove player from database.").queue();
                 }
-                
-            } catch (Exception e) {
-                plugin.getLogger().severe("Error removing player from whitelist: " + e.getMessage());
-                e.printStackTrace();
-                event.getHook().sendMessage("❌ Error removing player from whitelist.").queue();
-            }
+            });
+        }).exceptionally(error -> {
+            Throwable cause = AsyncDatabaseManager.unwrap(error);
+            plugin.getLogger().severe("Error removing player from whitelist: " + cause.getMessage());
+            cause.printStackTrace();
+            event.getHook().sendMessage("❌ Error removing player from whitelist.").queue();
+            return null;
         });
     }
     
-    private void sendRemovalDM(WhitelistRequest request, String removedBy) {
-        jda.retrieveUserById(request.getDiscordId()).queue(user -> {
-            user.openPrivateChannel().queue(dmChannel -> {
-                EmbedBuilder dmEmbed = new EmbedBuilder()
-                        .setTitle("🚫 Whitelist Removal Notice")
-                        .setDescription("**Your whitelist access has been removed.**\n\n" +
-                                      "**Minecraft Username:** " + request.getMinecraftUsername() + "\n" +
-                                      "**Removed by:** " + removedBy + "\n" +
-                                      "**Date:** " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("MM/dd/yyyy HH:mm")) + "\n\n" +
-                                      "If you believe this was done in error, please contact our staff team.")
-                        .setColor(Color.RED)
-                        .setFooter("Whitelist Bot", jda.getSelfUser().getAvatarUrl());
-                
-                dmChannel.sendMessageEmbeds(dmEmbed.build()).queue(
-                    success -> plugin.getLogger().info("Removal DM sent to " + request.getDiscordTag()),
-                    error -> plugin.getLogger().warning("Failed to send removal DM to " + request.getDiscordTag() + ": " + error.getMessage())
-                );
-            }, error -> plugin.getLogger().warning("Failed to open DM channel with " + request.getDiscordTag()));
-        }, error -> plugin.getLogger().warning("Failed to retrieve user for removal DM: " + request.getDiscordId()));
+    private void handleWhitelistBulkCommand(SlashCommandInteractionEvent event) {
+        if (!hasPermission(event.getMember())) {
+            event.reply("❌ You don't have permission to use this command.").setEphemeral(true).queue();
+            return;
+        }
+        
+        RequestStatus status = event.getOption("action").getAsString().equals("approve") ? RequestStatus.APPROVED : RequestStatus.DENIED;
+        RequestStatus from = event.getOption("status") != null ? LIST_FILTERS.get(event.getOption("status").getAsString()) : RequestStatus.PENDING;
+        int limit = plugin.getConfig().getInt("discord.bulk.max-requests", 100);
+        
+        Set<String> usernames = new LinkedHashSet<>();
+        if (event.getOption("usernames") != null) {
+            for (String username : event.getOption("usernames").getAsString().split("[\\s,]+")) {
+                if (!username.isEmpty()) {
+                    usernames.add(username.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        List<String> malformed = usernames.stream().filter(username -> !UsernameVerifier.isWellFormed(username)).toList();
+        if (!malformed.isEmpty()) {
+            event.reply("❌ Invalid Minecraft usernames: " + joinNames(malformed)).setEphemeral(true).queue();
+            return;
+        }
+        if (usernames.size() > limit) {
+            event.reply("❌ At most " + limit + " requests can be processed at once.").setEphemeral(true).queue();
+            return;
+        }
+        
+        String processedBy = event.getUser().getAsTag();
+        event.deferReply().queue();
+        InteractionHook hook = event.getHook();
+        
+        // One transaction: every matching request changes status, or none does
+        plugin.getAsyncDatabase().bulkUpdateStatus(from, usernames, status, processedBy, limit)
+                .thenAccept(updated -> applyBulkDecision(hook, updated, usernames, status, processedBy))
+                .exceptionally(error -> {
+                    Throwable cause = AsyncDatabaseManager.unwrap(error);
+                    plugin.getLogger().severe("Error processing bulk action: " + cause.getMessage());
+                    cause.printStackTrace();
+                    hook.editOriginal("❌ Error updating requests in database. No request was changed.").queue();
+                    return null;
+                });
     }
     
-    private void sendWhitelistList(SlashCommandInteractionEvent event, List<WhitelistRequest> requests, int page) {
-        if (requests.isEmpty()) {
-            event.getHook().sendMessage("📋 No whitelist requests found.").queue();
+    // Whitelist changes, DMs and admin embeds for requests whose status was already changed in database
+    private void applyBulkDecision(InteractionHook hook, List<WhitelistRequest> updated, Set<String> usernames,
+                                   RequestStatus status, String processedBy) {
+        String verb = status == RequestStatus.APPROVED ? "approved" : "denied";
+        Color color = messages.getColor(status);
+        
+        List<String> notMatched = new ArrayList<>(usernames);
+        updated.forEach(request -> notMatched.remove(request.getMinecraftUsername().toLowerCase(Locale.ROOT)));
+        
+        if (updated.isEmpty()) {
+            hook.editOriginal("ℹ️ No matching request to " + (status == RequestStatus.APPROVED ? "approve." : "deny.")).queue();
             return;
         }
         
-        int itemsPerPage = 10;
-        int totalPages = (int) Math.ceil((double) requests.size() / itemsPerPage);
-        int startIndex = page * itemsPerPage;
-        int endIndex = Math.min(startIndex + itemsPerPage, requests.size());
+        // Whitelist: all additions go through the mutation queue, applied a few per tick
+        ConcurrentLinkedQueue<String> whitelistFailures = new ConcurrentLinkedQueue<>();
+        List<CompletableFuture<Void>> whitelistChanges = new ArrayList<>();
+        if (status == RequestStatus.APPROVED) {
+            for (WhitelistRequest request : updated) {
+                whitelistChanges.add(updateWhitelist(request.getMinecraftUsername(), true, processedBy).exceptionally(error -> {
+                    plugin.getLogger().warning(plugin.getPrefix() + " Could not add " + request.getMinecraftUsername() 
+                            + " to the whitelist: " + AsyncDatabaseManager.unwrap(error).getMessage());
+                    whitelistFailures.add(request.getMinecraftUsername());
+                    return null;
+                }));
+            }
+        }
         
-        EmbedBuilder embed = new EmbedBuilder()
-                .setTitle("📋 Whitelist Requests List")
-                .setColor(Color.CYAN)
-                .setFooter("Page " + (page + 1) + "/" + totalPages + " • Total: " + requests.size() + " requests", 
-                          jda.getSelfUser().getAvatarUrl());
+        // DMs go to the outbox; admin embed edits are paced by the fan-out
+        for (WhitelistRequest request : updated) {
+            queueDM(request, decisionTitle(status), decisionMessage(request, status, processedBy), color);
+        }
         
-        StringBuilder description = new StringBuilder();
-        for (int i = startIndex; i < endIndex; i++) {
-            WhitelistRequest request = requests.get(i);
-            String statusEmoji = getStatusEmoji(request.getStatus());
-            
-            description.append("**").append(i + 1).append(".** ")
-                      .append(statusEmoji).append(" **").append(request.getMinecraftUsername()).append("**\n")
-                      .append("└ Discord: ").append(request.getDiscordTag()).append("\n")
-                      .append("└ Date: ").append(request.getFormattedRequestTime());
-            
-            if (request.getProcessedBy() != null) {
-                description.append("\n└ Processed by: ").append(request.getProcessedBy())
-                          .append(" at ").append(request.getFormattedProcessedTime());
+        TextChannel adminChannel = jda.getTextChannelById(adminChannelId);
+        List<Supplier<? extends CompletableFuture<?>>> embedEdits = new ArrayList<>();
+        for (WhitelistRequest request : updated) {
+            if (adminChannel != null && request.getAdminMessageId() != null) {
+                embedEdits.add(() -> adminChannel.retrieveMessageById(request.getAdminMessageId())
+                        .flatMap(message -> message.getEmbeds().isEmpty()
+                                ? message.editMessageComponents()
+                                : message.editMessageEmbeds(processedEmbed(message.getEmbeds().get(0), status, status.getEmoji(), color, processedBy))
+                                        .setComponents())
+                        .submit());
             }
-            
-            description.append("\n\n");
         }
         
-        embed.setDescription(description.toString());
+        String header = "⏳ " + updated.size() + " requests " + verb + ", updating admin messages…";
+        hook.editOriginal(header).queue();
         
-        // Navigation buttons
-        ActionRow buttons = createNavigationButtons(page, totalPages, "list");
+        // A single reply, edited at most every two seconds
+        AtomicLong lastEdit = new AtomicLong(System.nanoTime());
+        CompletableFuture<RestFanOut.Progress> edited = bulkFanOut.run(embedEdits, progress -> {
+            long last = lastEdit.get();
+            long now = System.nanoTime();
+            if (now - last >= TimeUnit.SECONDS.toNanos(2) && progress.getDone() < progress.getTotal() && lastEdit.compareAndSet(last, now)) {
+                hook.editOriginal(header + " " + progress.getDone() + "/" + progress.getTotal()).queue();
+            }
+        });
         
-        event.getHook().sendMessageEmbeds(embed.build())
-                .addComponents(buttons)
+        CompletableFuture.allOf(whitelistChanges.toArray(new CompletableFuture[0])).thenCombine(edited, (ignored, progress) -> {
+            StringBuilder summary = new StringBuilder()
+                    .append(status == RequestStatus.APPROVED ? "✅ " : "❌ ")
+                    .append(updated.size()).append(" requests ").append(verb).append(" by ").append(processedBy).append('.');
+            if (status == RequestStatus.APPROVED) {
+                summary.append("\n🎮 Whitelist: ").append(updated.size() - whitelistFailures.size()).append(" added");
+                if (!whitelistFailures.isEmpty()) {
+                    summary.append(", failed (add manually): ").append(joinNames(whitelistFailures));
+                }
+            }
+            summary.append("\n📋 Admin messages: ").append(progress.getSucceeded()).append('/').append(progress.getTotal()).append(" updated");
+            summary.append("\n📨 ").append(updated.size()).append(" DMs queued, sent in the background");
+            if (usernames.isEmpty() && updated.size() == plugin.getConfig().getInt("discord.bulk.max-requests", 100)) {
+                summary.append("\nℹ️ Limit reached: run the command again for the remaining requests.");
+            }
+            if (!notMatched.isEmpty()) {
+                summary.append("\n⚠️ Not found or not in the selected status: ").append(joinNames(notMatched));
+            }
+            return summary.toString();
+        }).thenAccept(summary -> hook.editOriginal(summary).queue());
+    }
+    
+    // Comma-separated names, shortened to stay well within Discord's 2000 character message limit
+    private static String joinNames(Collection<String> names) {
+        String joined = names.stream().limit(20).map(name -> "`" + name + "`").collect(Collectors.joining(", "));
+        return names.size() > 20 ? joined + " and " + (names.size() - 20) + " more" : joined;
+    }
+    
+    private void sendRemovalDM(WhitelistRequest request, String removedBy) {
+        MessageTemplates messages = this.messages;
+        queueDM(request, messages.text(MessageTemplates.Key.REMOVAL_TITLE),
+                messages.render(MessageTemplates.Key.REMOVAL_MESSAGE, request.getMinecraftUsername(), removedBy,
+                        LocalDateTime.now().format(messages.getDateFormat())),
+                messages.getRemovalColor());
+    }
+    
+    private void sendWhitelistList(SlashCommandInteractionEvent event, RequestPage page, String filter) {
+        if (page.isEmpty()) {
+            event.getHook().sendMessage(messages.text(MessageTemplates.Key.LIST_EMPTY)).queue();
+            return;
+        }
+        
+        event.getHook().sendMessageEmbeds(buildListEmbed(page, 0))
+                .addComponents(createNavigationButtons(page, 0, filter))
                 .queue();
         
         // Store page info for navigation
-        listPages.put(event.getUser().getId(), page);
+        listPages.put(event.getUser().getId(), 0);
     }
     
-    private void updateWhitelistList(ButtonInteractionEvent event, int newPage) {
+    private void updateWhitelistList(ButtonInteractionEvent event, int newPage, String filter, RequestPage.Cursor cursor, boolean before) {
         event.deferEdit().queue();
         
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                List<WhitelistRequest> requests = plugin.getDatabaseManager().getAllRequests();
-                sendWhitelistListUpdate(event, requests, newPage);
-            } catch (Exception e) {
-                plugin.getLogger().severe("Error updating whitelist list: " + e.getMessage());
-                event.getHook().sendMessage("❌ Error updating list.").queue();
-            }
-        });
+        plugin.getAsyncDatabase().getRequestPage(LIST_FILTERS.get(filter), cursor, before, getItemsPerPage())
+                .thenAccept(page -> sendWhitelistListUpdate(event, page, newPage, filter))
+                .exceptionally(error -> {
+                    plugin.getLogger().severe("Error updating whitelist list: " + AsyncDatabaseManager.unwrap(error).getMessage());
+                    event.getHook().sendMessage("❌ Error updating list.").queue();
+                    return null;
+                });
+    }
+    
+    private void sendWhitelistListUpdate(ButtonInteractionEvent event, RequestPage page, int newPage, String filter) {
+        // The table may have shrunk since the list was displayed
+        int currentPage = page.hasPrevious() ? Math.max(1, newPage) : 0;
+        
+        event.getHook().editOriginalEmbeds(buildListEmbed(page, currentPage))
+                .setComponents(createNavigationButtons(page, currentPage, filter))
+                .queue();
+        
+        listPages.put(event.getUser().getId(), currentPage);
     }
     
-    private void sendWhitelistListUpdate(ButtonInteractionEvent event, List<WhitelistRequest> requests, int page) {
-        int itemsPerPage = 10;
-        int totalPages = (int) Math.ceil((double) requests.size() / itemsPerPage);
-        int startIndex = page * itemsPerPage;
-        int endIndex = Math.min(startIndex + itemsPerPage, requests.size());
+    private MessageEmbed buildListEmbed(RequestPage page, int currentPage) {
+        int itemsPerPage = getItemsPerPage();
+        int totalPages = getTotalPages(page);
         
+        MessageTemplates messages = this.messages;
         EmbedBuilder embed = new EmbedBuilder()
-                .setTitle("📋 Whitelist Requests List")
-                .setColor(Color.CYAN)
-                .setFooter("Page " + (page + 1) + "/" + totalPages + " • Total: " + requests.size() + " requests", 
+                .setTitle(messages.text(MessageTemplates.Key.LIST_TITLE))
+                .setColor(messages.getListColor())
+                .setFooter(messages.render(MessageTemplates.Key.LIST_FOOTER, currentPage + 1, totalPages, page.getTotalCount()), 
                           jda.getSelfUser().getAvatarUrl());
         
+        if (page.isEmpty()) {
+            return embed.setDescription(messages.text(MessageTemplates.Key.LIST_EMPTY)).build();
+        }
+        
         StringBuilder description = new StringBuilder();
-        for (int i = startIndex; i < endIndex; i++) {
-            WhitelistRequest request = requests.get(i);
+        int position = currentPage * itemsPerPage;
+        for (WhitelistRequest request : page.getRequests()) {
             String statusEmoji = getStatusEmoji(request.getStatus());
             
-            description.append("**").append(i + 1).append(".** ")
+            description.append("**").append(++position).append(".** ")
                       .append(statusEmoji).append(" **").append(request.getMinecraftUsername()).append("**\n")
                       .append("└ Discord: ").append(request.getDiscordTag()).append("\n")
                       .append("└ Date: ").append(request.getFormattedRequestTime());
@@ -325,46 +759,57 @@ public class DiscordBotManager extends ListenerAdapter {
             description.append("\n\n");
         }
         
-        embed.setDescription(description.toString());
-        
-        ActionRow buttons = createNavigationButtons(page, totalPages, "list");
-        
-        event.getHook().editOriginalEmbeds(embed.build())
-                .setComponents(buttons)
-                .queue();
-        
-        listPages.put(event.getUser().getId(), page);
+        return embed.setDescription(description.toString()).build();
     }
     
-    private ActionRow createNavigationButtons(int currentPage, int totalPages, String type) {
-        Button prevButton = Button.secondary("nav_" + type + "_prev_" + currentPage, "◀ Previous")
-                .withDisabled(currentPage == 0);
+    private ActionRow createNavigationButtons(RequestPage page, int currentPage, String filter) {
+        int totalPages = getTotalPages(page);
+        int maxPages = plugin.getConfig().getInt("pagination.max-pages", 50);
+        RequestPage.Cursor first = page.getFirstCursor();
+        RequestPage.Cursor last = page.getLastCursor();
+        
+        MessageTemplates messages = this.messages;
+        String previous = messages.text(MessageTemplates.Key.LIST_PREV_BUTTON);
+        String next = messages.text(MessageTemplates.Key.LIST_NEXT_BUTTON);
+        
+        // The button ids carry the keyset cursor, so navigation never rescans the table
+        Button prevButton = first != null && page.hasPrevious()
+                ? Button.secondary(navigationId("prev", currentPage, filter, first), previous)
+                : Button.secondary("nav_list_prev_none", previous).asDisabled();
         
-        Button nextButton = Button.secondary("nav_" + type + "_next_" + currentPage, "Next ▶")
-                .withDisabled(currentPage >= totalPages - 1);
+        Button nextButton = last != null && page.hasNext() && currentPage + 1 < maxPages
+                ? Button.secondary(navigationId("next", currentPage, filter, last), next)
+                : Button.secondary("nav_list_next_none", next).asDisabled();
         
-        Button pageInfo = Button.secondary("page_info", "Page " + (currentPage + 1) + "/" + totalPages)
+        Button pageInfo = Button.secondary("page_info", messages.render(MessageTemplates.Key.LIST_PAGE_INFO, currentPage + 1, totalPages))
                 .withDisabled(true);
         
         return ActionRow.of(prevButton, pageInfo, nextButton);
     }
     
-    private String getStatusEmoji(String status) {
-        if (status == null) return "⚪";
-        
-        if (status.contains("APPROVED") || status.contains("APPROUVÉ")) {
-            return "🟢";
-        } else if (status.contains("DENIED") || status.contains("REFUSÉ")) {
-            return "🔴";
-        } else if (status.contains("TICKET")) {
-            return "🔵";
-        } else {
-            return "🟠"; // PENDING
-        }
+    // nav_list_<prev|next>_<page>_<filter>_<request time>_<id>
+    private String navigationId(String direction, int currentPage, String filter, RequestPage.Cursor cursor) {
+        return "nav_list_" + direction + "_" + currentPage + "_" + filter + "_" + cursor.getRequestTime() + "_" + cursor.getId();
+    }
+    
+    private int getItemsPerPage() {
+        return Math.max(1, Math.min(25, plugin.getConfig().getInt("pagination.items-per-page", 10)));
+    }
+    
+    private int getTotalPages(RequestPage page) {
+        return Math.max(1, (int) Math.ceil((double) page.getTotalCount() / getItemsPerPage()));
+    }
+    
+    private String getStatusEmoji(RequestStatus status) {
+        return status != null ? status.getEmoji() : "⚪";
     }
     
     @Override
     public void onButtonInteraction(ButtonInteractionEvent event) {
+        dispatch(event, buttonTimer, () -> handleButton(event));
+    }
+    
+    private void handleButton(ButtonInteractionEvent event) {
         String buttonId = event.getButton().getId();
         
         if (buttonId.startsWith("nav_list_")) {
@@ -383,6 +828,12 @@ public class DiscordBotManager extends ListenerAdapter {
                 case "close_ticket":
                     handleCloseTicket(event);
                     break;
+                case "confirm_close_ticket":
+                    handleConfirmCloseTicket(event);
+                    break;
+                case "cancel_close_ticket":
+                    handleCancelCloseTicket(event);
+                    break;
                 default:
                     if (buttonId.startsWith("admin_")) {
                         handleAdminAction(event);
@@ -394,145 +845,234 @@ public class DiscordBotManager extends ListenerAdapter {
     
     private void handleListNavigation(ButtonInteractionEvent event, String buttonId) {
         String[] parts = buttonId.split("_");
+        if (parts.length < 7) {
+            // List posted before keyset pagination: restart from the first page
+            updateWhitelistList(event, 0, LIST_FILTER_ALL, null, false);
+            return;
+        }
+        
         String direction = parts[2]; // prev or next
         int currentPage = Integer.parseInt(parts[3]);
+        String filter = parts[4];
+        RequestPage.Cursor cursor = new RequestPage.Cursor(Long.parseLong(parts[5]), Long.parseLong(parts[6]));
         
-        int newPage = direction.equals("prev") ? currentPage - 1 : currentPage + 1;
-        updateWhitelistList(event, newPage);
+        boolean before = direction.equals("prev");
+        int newPage = before ? currentPage - 1 : currentPage + 1;
+        updateWhitelistList(event, newPage, filter, cursor, before);
     }
     
     private void handleWhitelistRequest(ButtonInteractionEvent event) {
+        // Over the daily limit: answered from memory, before any database work
+        RequestRateLimiter limiter = plugin.getRequestLimiter();
+        if (limiter != null) {
+            long wait = limiter.retryAfter(event.getUser().getId(), System.currentTimeMillis());
+            if (wait > 0) {
+                event.reply(requestLimitMessage(wait)).setEphemeral(true).queue();
+                return;
+            }
+        }
+        
         // Check if user already has an approved request
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                List<WhitelistRequest> userRequests = plugin.getDatabaseManager().getAllRequests().stream()
-                        .filter(req -> req.getDiscordId().equals(event.getUser().getId()))
-                        .collect(Collectors.toList());
-                
-                // Check for approved request
-                boolean hasApproved = userRequests.stream()
-                        .anyMatch(req -> req.getStatus() != null && 
-                                 (req.getStatus().contains("APPROVED") || req.getStatus().contains("APPROUVÉ")));
-                
-                if (hasApproved) {
-                    event.reply("✅ You are already whitelisted on our server! No need to request again.")
-                            .setEphemeral(true).queue();
-                    return;
-                }
-                
-                // Check for pending request
-                boolean hasPending = userRequests.stream()
-                        .anyMatch(req -> req.getStatus() != null && 
-                                 (req.getStatus().contains("PENDING") || req.getStatus().contains("EN_ATTENTE")));
-                
-                if (hasPending) {
-                    event.reply("⏳ You already have a pending whitelist request. Please wait for admin review.")
-                            .setEphemeral(true).queue();
-                    return;
-                }
-                
-                // Proceed with modal
-                Bukkit.getScheduler().runTask(plugin, () -> {
-                    TextInput minecraftUsername = TextInput.create("minecraft_username", "Minecraft Username", TextInputStyle.SHORT)
-                            .setPlaceholder("Enter your exact Minecraft username")
-                            .setMinLength(3)
-                            .setMaxLength(16)
-                            .setRequired(true)
-                            .build();
-                    
-                    Modal modal = Modal.create("whitelist_modal", "Whitelist Request")
-                            .addActionRows(ActionRow.of(minecraftUsername))
-                            .build();
-                    
-                    event.replyModal(modal).queue();
-                });
-                
-            } catch (Exception e) {
-                plugin.getLogger().severe("Error checking existing requests: " + e.getMessage());
-                event.reply("❌ Error checking your existing requests. Please try again.")
+        plugin.getAsyncDatabase().getEligibility(event.getUser().getId()).thenAccept(eligibility -> {
+            if (eligibility == RequestEligibility.APPROVED) {
+                event.reply(messages.text(MessageTemplates.Key.ALREADY_WHITELISTED))
                         .setEphemeral(true).queue();
+                return;
+            }
+            
+            if (eligibility == RequestEligibility.PENDING) {
+                event.reply(messages.text(MessageTemplates.Key.ALREADY_PENDING))
+                        .setEphemeral(true).queue();
+                return;
             }
+            
+            // Proceed with modal (no Bukkit API involved: reply straight from the callback)
+            TextInput minecraftUsername = TextInput.create("minecraft_username", "Minecraft Username", TextInputStyle.SHORT)
+                    .setPlaceholder("Enter your exact Minecraft username")
+                    .setMinLength(3)
+                    .setMaxLength(16)
+                    .setRequired(true)
+                    .build();
+            
+            Modal modal = Modal.create("whitelist_modal", "Whitelist Request")
+                    .addActionRows(ActionRow.of(minecraftUsername))
+                    .build();
+            
+            event.replyModal(modal).queue();
+        }).exceptionally(error -> {
+            plugin.getLogger().severe("Error checking existing requests: " + AsyncDatabaseManager.unwrap(error).getMessage());
+            event.reply("❌ Error checking your existing requests. Please try again.")
+                    .setEphemeral(true).queue();
+            return null;
         });
     }
     
     @Override
     public void onModalInteraction(ModalInteractionEvent event) {
+        dispatch(event, modalTimer, () -> handleModal(event));
+    }
+    
+    private void handleModal(ModalInteractionEvent event) {
         if (event.getModalId().equals("whitelist_modal")) {
-            String username = event.getValue("minecraft_username").getAsString();
+            String typedUsername = event.getValue("minecraft_username").getAsString();
             
-            // Check if this Minecraft username is already approved for another Discord user
-            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-                try {
-                    WhitelistRequest existingRequest = plugin.getDatabaseManager().getRequestByMinecraftUsername(username);
-                    
-                    if (existingRequest != null && 
-                        (existingRequest.getStatus().contains("APPROVED") || existingRequest.getStatus().contains("APPROUVÉ")) &&
-                        !existingRequest.getDiscordId().equals(event.getUser().getId())) {
-                        
-                        event.reply("❌ This Minecraft username is already whitelisted by another Discord user!")
-                                .setEphemeral(true).queue();
-                        return;
-                    }
-                    
-                    Bukkit.getScheduler().runTask(plugin, () -> {
-                        WhitelistRequest request = new WhitelistRequest(
-                                event.getUser().getId(),
-                                event.getUser().getAsTag(),
-                                username,
-                                LocalDateTime.now()
-                        );
-                        
-                        pendingRequests.put(event.getUser().getId(), request);
-                        
-                        EmbedBuilder confirmEmbed = new EmbedBuilder()
-                                .setTitle("🔍 Verification")
-                                .setDescription("**Minecraft Username:** " + username + "\n\n" +
-                                        "**NameMC Profile:** [Click here](https://namemc.com/profile/" + username + ")\n\n" +
-                                        "Please verify that the information is correct before confirming your request.")
-                                .setColor(Color.ORANGE)
-                                .setFooter("Check your NameMC profile", event.getJDA().getSelfUser().getAvatarUrl());
-                        
-                        Button confirmButton = Button.success("confirm_request", "✅ Confirm Request");
-                        Button cancelButton = Button.danger("cancel_request", "❌ Cancel");
-                        
-                        event.reply("Verifying your request:")
-                                .addEmbeds(confirmEmbed.build())
-                                .addActionRow(confirmButton, cancelButton)
-                                .setEphemeral(true)
-                                .queue();
-                    });
-                    
-                } catch (Exception e) {
-                    plugin.getLogger().severe("Error checking existing username: " + e.getMessage());
-                    event.reply("❌ Error processing your request. Please try again.")
-                            .setEphemeral(true).queue();
+            if (!UsernameVerifier.isWellFormed(typedUsername)) {
+                event.reply(messages.text(MessageTemplates.Key.INVALID_USERNAME)).setEphemeral(true).queue();
+                return;
+            }
+            
+            CompletableFuture<MojangProfile> verification = verifyUsername(typedUsername);
+            // A Mojang lookup can outlast Discord's 3 second reply window: acknowledge first, answer through the hook
+            boolean deferred = !verification.isDone();
+            if (deferred) {
+                event.deferReply(true).queue();
+            }
+            
+            verification.handle((profile, error) -> {
+                if (error == null) {
+                    return profile;
+                }
+                plugin.getLogger().warning(plugin.getPrefix() + " Could not verify username " + typedUsername + ": " 
+                        + AsyncDatabaseManager.unwrap(error).getMessage());
+                if (plugin.getConfig().getString("security.username-verification.on-error", "allow").equalsIgnoreCase("allow")) {
+                    return UNVERIFIED;
                 }
+                return null;
+            }).thenCompose(profile -> {
+                if (profile == null) {
+                    String message = verification.isCompletedExceptionally()
+                            ? "❌ Your Minecraft username could not be verified right now. Please try again later."
+                            : "❌ No Minecraft account is named `" + typedUsername + "`. Please check the spelling.";
+                    respond(event, deferred, new MessageCreateBuilder().setContent(message).build());
+                    return CompletableFuture.completedFuture(null);
+                }
+                
+                // Exact spelling of the account when Mojang knows it
+                String username = profile != UNVERIFIED ? profile.getName() : typedUsername;
+                return plugin.getAsyncDatabase().getRequestByMinecraftUsername(username)
+                        .thenAccept(existingRequest -> answerUsername(event, deferred, username, existingRequest));
+            }).exceptionally(error -> {
+                plugin.getLogger().severe("Error checking existing username: " + AsyncDatabaseManager.unwrap(error).getMessage());
+                respond(event, deferred, new MessageCreateBuilder()
+                        .setContent("❌ Error processing your request. Please try again.").build());
+                return null;
             });
         }
     }
     
+    private void answerUsername(ModalInteractionEvent event, boolean deferred, String username, WhitelistRequest existingRequest) {
+        // Check if this Minecraft username is already approved for another Discord user
+        if (existingRequest != null && 
+            existingRequest.isApproved() &&
+            !existingRequest.getDiscordId().equals(event.getUser().getId())) {
+            
+            respond(event, deferred, new MessageCreateBuilder()
+                    .setContent(messages.text(MessageTemplates.Key.USERNAME_TAKEN)).build());
+            return;
+        }
+        
+        WhitelistRequest request = new WhitelistRequest(
+                event.getUser().getId(),
+                event.getUser().getAsTag(),
+                username,
+                LocalDateTime.now()
+        );
+        
+        pendingRequests.put(event.getUser().getId(), request);
+        
+        MessageTemplates messages = this.messages;
+        EmbedBuilder confirmEmbed = new EmbedBuilder()
+                .setTitle(messages.text(MessageTemplates.Key.VERIFICATION_TITLE))
+                .setDescription("**Minecraft Username:** " + username + "\n\n" +
+                        messages.render(MessageTemplates.Key.VERIFICATION_NAMEMC, username) + "\n\n" +
+                        messages.text(MessageTemplates.Key.VERIFICATION_DESCRIPTION))
+                .setColor(messages.getVerificationColor())
+                .setFooter(messages.text(MessageTemplates.Key.VERIFICATION_FOOTER), event.getJDA().getSelfUser().getAvatarUrl());
+        
+        Button confirmButton = Button.success("confirm_request", messages.text(MessageTemplates.Key.VERIFICATION_CONFIRM_BUTTON));
+        Button cancelButton = Button.danger("cancel_request", messages.text(MessageTemplates.Key.VERIFICATION_CANCEL_BUTTON));
+        
+        respond(event, deferred, new MessageCreateBuilder()
+                .setContent("Verifying your request:")
+                .addEmbeds(confirmEmbed.build())
+                .addComponents(ActionRow.of(confirmButton, cancelButton))
+                .build());
+    }
+    
+    // Mojang profile of the username; UNVERIFIED when verification is disabled
+    private CompletableFuture<MojangProfile> verifyUsername(String username) {
+        UsernameVerifier verifier = plugin.getUsernameVerifier();
+        if (verifier == null) {
+            return CompletableFuture.completedFuture(UNVERIFIED);
+        }
+        return verifier.verify(username);
+    }
+    
+    // Ephemeral answer to a modal, through the interaction hook when the reply was deferred
+    private void respond(ModalInteractionEvent event, boolean deferred, MessageCreateData message) {
+        if (deferred) {
+            event.getHook().sendMessage(message).setEphemeral(true).queue();
+        } else {
+            event.reply(message).setEphemeral(true).queue();
+        }
+    }
+    
     private void handleConfirmRequest(ButtonInteractionEvent event) {
         WhitelistRequest request = pendingRequests.get(event.getUser().getId());
         if (request == null) {
-            event.reply("❌ Error: Request expired or not found.").setEphemeral(true).queue();
+            event.reply(messages.text(MessageTemplates.Key.REQUEST_EXPIRED)).setEphemeral(true).queue();
             return;
         }
         
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                plugin.getDatabaseManager().saveWhitelistRequest(request);
-                sendToAdminChannel(request);
-                
-                event.reply("✅ Your whitelist request has been sent to administrators!").setEphemeral(true).queue();
+        // Counted here, where the request is actually submitted; several forms opened together get no extra attempts
+        RequestRateLimiter limiter = plugin.getRequestLimiter();
+        if (limiter != null) {
+            long now = System.currentTimeMillis();
+            long wait = limiter.tryAcquire(event.getUser().getId(), now);
+            if (wait > 0) {
                 pendingRequests.remove(event.getUser().getId());
-                
-            } catch (Exception e) {
-                plugin.getLogger().severe("Error saving request: " + e.getMessage());
-                event.reply("❌ Error sending your request. Please contact an administrator.").setEphemeral(true).queue();
+                event.reply(requestLimitMessage(wait)).setEphemeral(true).queue();
+                return;
+            }
+            if (limiter.isEnabled()) {
+                plugin.getAsyncDatabase().saveRequestAttempt(event.getUser().getId(), now).exceptionally(error -> {
+                    plugin.getLogger().warning(plugin.getPrefix() + " Could not save request attempt: "
+                            + AsyncDatabaseManager.unwrap(error).getMessage());
+                    return null;
+                });
+            }
+        }
+        
+        plugin.getAsyncDatabase().saveWhitelistRequest(request).thenAccept(saved -> {
+            // A request confirmed from another form is still pending: keep it, and its admin message
+            if (!saved) {
+                event.reply(messages.text(MessageTemplates.Key.ALREADY_REQUESTED)).setEphemeral(true).queue();
+                pendingRequests.remove(event.getUser().getId());
+                return;
             }
+            
+            sendToAdminChannel(request);
+            
+            // Resolve the UUID now, so that approving later needs no Mojang lookup
+            plugin.getUuidResolver().resolve(request.getMinecraftUsername()).exceptionally(error -> {
+                plugin.getLogger().warning(plugin.getPrefix() + " " + AsyncDatabaseManager.unwrap(error).getMessage());
+                return null;
+            });
+            
+            event.reply(messages.text(MessageTemplates.Key.REQUEST_SENT)).setEphemeral(true).queue();
+            pendingRequests.remove(event.getUser().getId());
+        }).exceptionally(error -> {
+            plugin.getLogger().severe("Error saving request: " + AsyncDatabaseManager.unwrap(error).getMessage());
+            event.reply("❌ Error sending your request. Please contact an administrator.").setEphemeral(true).queue();
+            return null;
         });
     }
     
+    private static String requestLimitMessage(long waitMillis) {
+        long retryAt = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() + waitMillis) + 1;
+        return "⏳ You have reached the maximum number of whitelist requests for today. You can try again <t:" + retryAt + ":R>.";
+    }
+    
     private void handleCancelRequest(ButtonInteractionEvent event) {
         pendingRequests.remove(event.getUser().getId());
         event.reply("❌ Request cancelled.").setEphemeral(true).queue();
@@ -557,62 +1097,67 @@ public class DiscordBotManager extends ListenerAdapter {
             }
         }
         
+        MessageTemplates messages = this.messages;
         EmbedBuilder adminEmbed = new EmbedBuilder()
-                .setTitle("📋 New Whitelist Request")
+                .setTitle(messages.text(MessageTemplates.Key.ADMIN_TITLE))
                 .addField("🎮 Minecraft Username", request.getMinecraftUsername(), true)
                 .addField("👤 Discord User", request.getDiscordTag(), true)
                 .addField("🏷️ Discord Roles", userRoles, true)
-                .addField("🕐 Request Time", request.getRequestTime().format(DateTimeFormatter.ofPattern("MM/dd/yyyy HH:mm")), true)
+                .addField("🕐 Request Time", request.getRequestTime().format(messages.getDateFormat()), true)
                 .addField("🔗 NameMC Profile", "[View Profile](https://namemc.com/profile/" + request.getMinecraftUsername() + ")", true)
                 .addField("📊 Status", "🟠 Pending", true)
-                .setColor(Color.ORANGE)
-                .setFooter("Awaiting admin review", jda.getSelfUser().getAvatarUrl());
+                .setColor(messages.getColor(RequestStatus.PENDING))
+                .setFooter(messages.text(MessageTemplates.Key.ADMIN_FOOTER), jda.getSelfUser().getAvatarUrl());
         
-        Button approveButton = Button.success("admin_approve_" + request.getDiscordId(), "✅ Approve");
-        Button denyButton = Button.danger("admin_deny_" + request.getDiscordId(), "❌ Deny");
-        Button ticketButton = Button.primary("admin_ticket_" + request.getDiscordId(), "🎫 [DEV]Create Ticket");
+        Button approveButton = Button.success("admin_approve_" + request.getDiscordId(), messages.text(MessageTemplates.Key.ADMIN_APPROVE_BUTTON));
+        Button denyButton = Button.danger("admin_deny_" + request.getDiscordId(), messages.text(MessageTemplates.Key.ADMIN_DENY_BUTTON));
+        Button ticketButton = Button.primary("admin_ticket_" + request.getDiscordId(), messages.text(MessageTemplates.Key.ADMIN_TICKET_BUTTON));
         
         adminChannel.sendMessageEmbeds(adminEmbed.build())
                 .setActionRow(approveButton, denyButton, ticketButton)
-                .queue();
+                .queue(message -> plugin.getAsyncDatabase().setAdminMessageId(request.getDiscordId(), message.getId())
+                        .exceptionally(error -> {
+                            plugin.getLogger().warning(plugin.getPrefix() + " Could not save the admin message of " 
+                                    + request.getMinecraftUsername() + ": " + AsyncDatabaseManager.unwrap(error).getMessage());
+                            return null;
+                        }));
     }
     
     private void handleAdminAction(ButtonInteractionEvent event) {
         if (!hasPermission(event.getMember())) {
-            event.reply("❌ You don't have permission to perform this action.").setEphemeral(true).queue();
+            event.reply(messages.text(MessageTemplates.Key.NO_PERMISSION)).setEphemeral(true).queue();
             return;
         }
         
         String buttonId = event.getButton().getId();
         String[] parts = buttonId.split("_");
         if (parts.length < 3) {
-            event.reply("❌ Invalid button ID.").setEphemeral(true).queue();
+            event.reply(messages.text(MessageTemplates.Key.INVALID_BUTTON)).setEphemeral(true).queue();
             return;
         }
         
         String action = parts[1];
         String discordId = parts[2];
         
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                WhitelistRequest request = plugin.getDatabaseManager().getWhitelistRequest(discordId);
-                if (request == null) {
-                    event.reply("❌ Request not found.").setEphemeral(true).queue();
-                    return;
-                }
-                
-                processAdminAction(event, request, action);
-                
-            } catch (Exception e) {
-                plugin.getLogger().severe("Error processing admin action: " + e.getMessage());
-                e.printStackTrace();
-                event.reply("❌ Error processing action.").setEphemeral(true).queue();
+        plugin.getAsyncDatabase().getWhitelistRequest(discordId).thenAccept(request -> {
+            if (request == null) {
+                event.reply(messages.text(MessageTemplates.Key.REQUEST_NOT_FOUND)).setEphemeral(true).queue();
+                return;
             }
+            
+            processAdminAction(event, request, action);
+        }).exceptionally(error -> {
+            Throwable cause = AsyncDatabaseManager.unwrap(error);
+            plugin.getLogger().severe("Error processing admin action: " + cause.getMessage());
+            cause.printStackTrace();
+            event.reply(messages.text(MessageTemplates.Key.PROCESSING_ERROR)).setEphemeral(true).queue();
+            return null;
         });
     }
     
     private void processAdminAction(ButtonInteractionEvent event, WhitelistRequest request, String action) {
-        String status;
+        MessageTemplates messages = this.messages;
+        RequestStatus status;
         Color embedColor;
         String responseMessage;
         String statusEmoji;
@@ -620,48 +1165,38 @@ public class DiscordBotManager extends ListenerAdapter {
         
         switch (action) {
             case "approve":
-                Bukkit.getScheduler().runTask(plugin, () -> {
-                    OfflinePlayer player = Bukkit.getOfflinePlayer(request.getMinecraftUsername());
-                    player.setWhitelisted(true);
-                    plugin.getLogger().info(plugin.getPrefix() + " " + request.getMinecraftUsername() + " added to whitelist by " + event.getUser().getAsTag());
+                updateWhitelist(request.getMinecraftUsername(), true, event.getUser().getAsTag()).exceptionally(error -> {
+                    String reason = AsyncDatabaseManager.unwrap(error).getMessage();
+                    plugin.getLogger().warning(plugin.getPrefix() + " Could not add " + request.getMinecraftUsername() + " to the whitelist: " + reason);
+                    event.getHook().sendMessage(messages.render(MessageTemplates.Key.WHITELIST_ADD_FAILED, request.getMinecraftUsername(), reason))
+                            .setEphemeral(true).queue();
+                    return null;
                 });
                 
-                status = "✅ APPROVED";
-                statusEmoji = "🟢";
-                embedColor = Color.GREEN;
-                responseMessage = "✅ Request approved! Player added to whitelist.";
-                dmMessage = "🎉 **Great news!** Your whitelist request has been **approved**!\n\n" +
-                           "**Minecraft Username:** " + request.getMinecraftUsername() + "\n" +
-                           "**Approved by:** " + event.getUser().getAsTag() + "\n" +
-                           "**Date:** " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("MM/dd/yyyy HH:mm")) + "\n\n" +
-                           "You can now join our Minecraft server! Welcome aboard! 🎮";
+                status = RequestStatus.APPROVED;
+                statusEmoji = status.getEmoji();
+                embedColor = messages.getColor(status);
+                responseMessage = messages.text(MessageTemplates.Key.REQUEST_APPROVED);
+                dmMessage = decisionMessage(request, status, event.getUser().getAsTag());
                 break;
                 
             case "deny":
-                status = "❌ DENIED";
-                statusEmoji = "🔴";
-                embedColor = Color.RED;
-                responseMessage = "❌ Request denied.";
-                dmMessage = "😔 **We're sorry to inform you** that your whitelist request has been **denied**.\n\n" +
-                           "**Minecraft Username:** " + request.getMinecraftUsername() + "\n" +
-                           "**Denied by:** " + event.getUser().getAsTag() + "\n" +
-                           "**Date:** " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("MM/dd/yyyy HH:mm")) + "\n\n" +
-                           "If you have questions, please contact our staff team.";
+                status = RequestStatus.DENIED;
+                statusEmoji = status.getEmoji();
+                embedColor = messages.getColor(status);
+                responseMessage = messages.text(MessageTemplates.Key.REQUEST_DENIED);
+                dmMessage = decisionMessage(request, status, event.getUser().getAsTag());
                 break;
                 
             case "ticket":
                 // Create ticket channel
                 createTicketChannel(event, request);
                 
-                status = "🎫 TICKET CREATED";
-                statusEmoji = "🔵";
-                embedColor = Color.CYAN;
-                responseMessage = "🎫 Ticket channel created successfully.";
-                dmMessage = "🎫 **Your whitelist request requires additional review.**\n\n" +
-                           "**Minecraft Username:** " + request.getMinecraftUsername() + "\n" +
-                           "**Staff Member:** " + event.getUser().getAsTag() + "\n" +
-                           "**Date:** " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("MM/dd/yyyy HH:mm")) + "\n\n" +
-                           "A ticket channel has been created for discussion. You will be mentioned in the channel.";
+                status = RequestStatus.TICKET;
+                statusEmoji = status.getEmoji();
+                embedColor = messages.getColor(status);
+                responseMessage = messages.text(MessageTemplates.Key.TICKET_CREATED);
+                dmMessage = decisionMessage(request, status, event.getUser().getAsTag());
                 break;
                 
             default:
@@ -669,53 +1204,102 @@ public class DiscordBotManager extends ListenerAdapter {
         }
         
         // Send DM to user
-        jda.retrieveUserById(request.getDiscordId()).queue(user -> {
-            user.openPrivateChannel().queue(dmChannel -> {
-                EmbedBuilder dmEmbed = new EmbedBuilder()
-                        .setTitle("📋 Whitelist Request Update")
-                        .setDescription(dmMessage)
-                        .setColor(embedColor)
-                        .setFooter("Whitelist Bot", jda.getSelfUser().getAvatarUrl());
-                
-                dmChannel.sendMessageEmbeds(dmEmbed.build()).queue(
-                    success -> plugin.getLogger().info("DM sent to " + request.getDiscordTag()),
-                    error -> plugin.getLogger().warning("Failed to send DM to " + request.getDiscordTag() + ": " + error.getMessage())
-                );
-            }, error -> plugin.getLogger().warning("Failed to open DM channel with " + request.getDiscordTag()));
-        }, error -> plugin.getLogger().warning("Failed to retrieve user: " + request.getDiscordId()));
+        queueDM(request, decisionTitle(status), dmMessage, embedColor);
         
         updateAdminEmbed(event, request, status, statusEmoji, embedColor);
         
-        try {
-            plugin.getDatabaseManager().updateRequestStatus(request.getDiscordId(), status, event.getUser().getAsTag());
-        } catch (Exception e) {
-            plugin.getLogger().severe("Error updating request status: " + e.getMessage());
-        }
-        
         event.reply(responseMessage).setEphemeral(true).queue();
+        
+        plugin.getAsyncDatabase().updateRequestStatus(request.getDiscordId(), status, event.getUser().getAsTag())
+                .exceptionally(error -> {
+                    plugin.getLogger().severe("Error updating request status: " + AsyncDatabaseManager.unwrap(error).getMessage());
+                    return null;
+                });
     }
     
-    private void updateAdminEmbed(ButtonInteractionEvent event, WhitelistRequest request, String status, String statusEmoji, Color color) {
+    /**
+     * Resolves the player's UUID off the main thread, then queues the change: the main thread applies
+     * queued changes a few per tick, and Bukkit.getOfflinePlayer(UUID) never queries Mojang.
+     * A change overridden by a later opposite change for the same player completes without error,
+     * since the whitelist now holds what the latest action asked for.
+     */
+    private CompletableFuture<Void> updateWhitelist(String username, boolean whitelisted, String actor) {
+        return plugin.getUuidResolver().resolve(username).thenCompose(uuid -> {
+            if (uuid == null) {
+                throw new CompletionException(new IllegalStateException("no Minecraft account is named " + username));
+            }
+            return plugin.getWhitelistQueue().submit(uuid, whitelisted);
+        }).handle((changed, error) -> {
+            if (error != null) {
+                if (AsyncDatabaseManager.unwrap(error) instanceof WhitelistMutationQueue.SupersededException) {
+                    plugin.getLogger().info(plugin.getPrefix() + " " + username + (whitelisted ? " add" : " removal")
+                            + " by " + actor + " skipped: overridden by a later whitelist change");
+                    return null;
+                }
+                throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+            }
+            if (changed) {
+                plugin.getLogger().info(plugin.getPrefix() + " " + username + (whitelisted ? " added to" : " removed from") 
+                        + " whitelist by " + actor);
+            }
+            return null;
+        });
+    }
+    
+    private void updateAdminEmbed(ButtonInteractionEvent event, WhitelistRequest request, RequestStatus status, String statusEmoji, Color color) {
         MessageEmbed originalEmbed = event.getMessage().getEmbeds().get(0);
         
+        event.getMessage().editMessageEmbeds(processedEmbed(originalEmbed, status, statusEmoji, color, event.getUser().getAsTag()))
+                .setComponents()
+                .queue();
+    }
+    
+    // Copy of the admin embed with the new status, and without buttons once sent
+    private MessageEmbed processedEmbed(MessageEmbed originalEmbed, RequestStatus status, String statusEmoji, Color color, String processedBy) {
         EmbedBuilder updatedEmbed = new EmbedBuilder()
                 .setTitle(originalEmbed.getTitle())
                 .setColor(color)
-                .setFooter("Processed by " + event.getUser().getAsTag() + " • " + 
-                          LocalDateTime.now().format(DateTimeFormatter.ofPattern("MM/dd/yyyy HH:mm")), 
+                .setFooter("Processed by " + processedBy + " • " + 
+                          LocalDateTime.now().format(messages.getDateFormat()), 
                           jda.getSelfUser().getAvatarUrl());
         
         for (MessageEmbed.Field field : originalEmbed.getFields()) {
             if (field.getName().equals("📊 Status")) {
-                updatedEmbed.addField("📊 Status", statusEmoji + " " + status, field.isInline());
+                updatedEmbed.addField("📊 Status", statusEmoji + " " + status.getLabel(), field.isInline());
             } else {
                 updatedEmbed.addField(field.getName(), field.getValue(), field.isInline());
             }
         }
         
-        event.getMessage().editMessageEmbeds(updatedEmbed.build())
-                .setComponents()
-                .queue();
+        return updatedEmbed.build();
+    }
+    
+    // DM title and text for an approval, a denial or a ticket
+    private String decisionTitle(RequestStatus status) {
+        return messages.text(switch (status) {
+            case APPROVED -> MessageTemplates.Key.APPROVAL_TITLE;
+            case TICKET -> MessageTemplates.Key.TICKET_TITLE;
+            default -> MessageTemplates.Key.DENIAL_TITLE;
+        });
+    }
+    
+    private String decisionMessage(WhitelistRequest request, RequestStatus status, String processedBy) {
+        MessageTemplates messages = this.messages;
+        MessageTemplates.Key key = switch (status) {
+            case APPROVED -> MessageTemplates.Key.APPROVAL_MESSAGE;
+            case TICKET -> MessageTemplates.Key.TICKET_MESSAGE;
+            default -> MessageTemplates.Key.DENIAL_MESSAGE;
+        };
+        return messages.render(key, request.getMinecraftUsername(), processedBy, LocalDateTime.now().format(messages.getDateFormat()));
+    }
+    
+    // Stored in the DM outbox, which delivers it and retries on failure
+    private void queueDM(WhitelistRequest request, String title, String message, Color color) {
+        dmOutbox.enqueue(request.getDiscordId(), title, message, color).exceptionally(error -> {
+            plugin.getLogger().warning("Failed to queue DM to " + request.getDiscordTag() + ": " 
+                    + AsyncDatabaseManager.unwrap(error).getMessage());
+            return null;
+        });
     }
     
     private boolean hasPermission(Member member) {
@@ -741,8 +1325,8 @@ public class DiscordBotManager extends ListenerAdapter {
         }
         
         // Check if ticket already exists
-        if (ticketChannels.containsKey(request.getDiscordId())) {
-            String existingChannelId = ticketChannels.get(request.getDiscordId());
+        String existingChannelId = plugin.getAsyncDatabase().getTickets().getChannel(request.getDiscordId());
+        if (existingChannelId != null) {
             TextChannel existingChannel = guild.getTextChannelById(existingChannelId);
             if (existingChannel != null) {
                 event.reply("❌ A ticket channel already exists for this user: " + existingChannel.getAsMention())
@@ -775,8 +1359,11 @@ public class DiscordBotManager extends ListenerAdapter {
                             }
                         }
                         
-                        // Store ticket channel
-                        ticketChannels.put(request.getDiscordId(), ticketChannel.getId());
+                        // Store ticket channel (kept across restarts)
+                        plugin.getAsyncDatabase().saveTicket(request.getDiscordId(), ticketChannel.getId()).exceptionally(error -> {
+                            plugin.getLogger().severe("Failed to save ticket channel: " + AsyncDatabaseManager.unwrap(error).getMessage());
+                            return null;
+                        });
                         
                         // Send initial message in ticket
                         sendTicketWelcomeMessage(ticketChannel, request, event.getUser());
@@ -864,7 +1451,10 @@ private void handleConfirmCloseTicket(ButtonInteractionEvent event) {
     String channelName = channel.getName();
 
     // Remove from tracking
-    ticketChannels.values().remove(channel.getId());
+    plugin.getAsyncDatabase().deleteTicket(channel.getId()).exceptionally(error -> {
+        plugin.getLogger().severe("Failed to remove ticket channel: " + AsyncDatabaseManager.unwrap(error).getMessage());
+        return null;
+    });
 
     // Send final message
     EmbedBuilder finalEmbed = new EmbedBuilder()
@@ -892,21 +1482,31 @@ private void handleConfirmCloseTicket(ButtonInteractionEvent event) {
     
     private boolean isTicketCreator(ButtonInteractionEvent event) {
         // Check if the user is the original requester of this ticket
-        String channelId = event.getChannel().getId();
-        return ticketChannels.containsValue(channelId) && 
-               ticketChannels.entrySet().stream()
-                   .anyMatch(entry -> entry.getValue().equals(channelId) && 
-                            entry.getKey().equals(event.getUser().getId()));
+        return plugin.getAsyncDatabase().getTickets().isRequester(event.getChannel().getId(), event.getUser().getId());
     }
     
     public void shutdown() {
+        // Waits for a login in progress, so that its JDA instance is shut down below
+        synchronized (this) {
+            stopping = true;
+        }
+        scheduler.shutdownNow();
         if (jda != null) {
             jda.shutdown();
             plugin.getLogger().info(plugin.getPrefix() + " Discord bot stopped.");
         }
+        interactionExecutor.shutdown();
     }
     
     public JDA getJDA() {
         return jda;
     }
+    
+    public BotState getState() {
+        return state;
+    }
+    
+    public boolean isReady() {
+        return state == BotState.READY;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+package fr.yourserver.whitelistbot.discord;
+
+import fr.yourserver.whitelistbot.metrics.Counter;
+import fr.yourserver.whitelistbot.metrics.MetricsRegistry;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.channel.concrete.PrivateChannel;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Private channels of the users the bot writes to, so that a DM costs one REST call instead of
+ * opening the channel first every time. Entries expire after a TTL and the least recently used
+ * ones are evicted beyond {@code maxEntries}. Concurrent lookups of the same user share one request.
+ */
+final class DiscordUserCache {
+
+    private static final class Entry {
+        private final PrivateChannel channel;
+        private final long expiresAt;
+
+        private Entry(PrivateChannel channel, long expiresAt) {
+            this.channel = channel;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    // Access order: the eldest entry is the least recently used; guarded by this
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<PrivateChannel>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+
+    DiscordUserCache(int maxEntries, long ttl, TimeUnit unit, MetricsRegistry metrics) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlNanos = unit.toNanos(ttl);
+
+        String help = "Private channel lookups by result: cached, opened through the API, or joined to a lookup in progress";
+        this.hits = metrics.counter("whitelistbot_discord_user_cache_total", help, "result", "hit");
+        this.misses = metrics.counter("whitelistbot_discord_user_cache_total", help, "result", "miss");
+        this.coalesced = metrics.counter("whitelistbot_discord_user_cache_total", help, "result", "coalesced");
+        metrics.gauge("whitelistbot_discord_user_cache_entries", "Private channels held in the user cache", this::size);
+    }
+
+    /**
+     * Private channel with the user, opened through the API only when it is not cached.
+     */
+    CompletableFuture<PrivateChannel> privateChannel(JDA jda, String userId) {
+        PrivateChannel cached = get(userId);
+        if (cached != null) {
+            hits.increment();
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        boolean[] created = new boolean[1];
+        CompletableFuture<PrivateChannel> lookup = inFlight.computeIfAbsent(userId, id -> {
+            created[0] = true;
+            return new CompletableFuture<>();
+        });
+        if (!created[0]) {
+            coalesced.increment();
+            return lookup;
+        }
+
+        misses.increment();
+        jda.openPrivateChannelById(userId).queue(channel -> {
+            put(userId, channel);
+            inFlight.remove(userId);
+            lookup.complete(channel);
+        }, error -> {
+            inFlight.remove(userId);
+            lookup.completeExceptionally(error);
+        });
+        return lookup;
+    }
+
+    /**
+     * Forgets a user whose channel stopped working (DMs closed, account deleted).
+     */
+    synchronized void invalidate(String userId) {
+        entries.remove(userId);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized PrivateChannel get(String userId) {
+        Entry entry = entries.get(userId);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAt >= 0) {
+            entries.remove(userId);
+            return null;
+        }
+        return entry.channel;
+    }
+
+    private synchronized void put(String userId, PrivateChannel channel) {
+        entries.put(userId, new Entry(channel, System.nanoTime() + ttlNanos));
+
+        // Least recently used first
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (entries.size() > maxEntries) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+}
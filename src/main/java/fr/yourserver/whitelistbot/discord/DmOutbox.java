@@ -0,0 +1,221 @@
+package fr.yourserver.whitelistbot.discord;
+
+import fr.yourserver.whitelistbot.WhitelistBot;
+import fr.yourserver.whitelistbot.database.AsyncDatabaseManager;
+import fr.yourserver.whitelistbot.database.OutboxMessage;
+import fr.yourserver.whitelistbot.metrics.Counter;
+import fr.yourserver.whitelistbot.metrics.MetricsRegistry;
+import fr.yourserver.whitelistbot.metrics.Timer;
+import fr.yourserver.whitelistbot.mojang.TokenBucket;
+import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.exceptions.ErrorResponseException;
+import net.dv8tion.jda.api.requests.ErrorResponse;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Direct messages to players, stored in the dm_outbox table before being sent.
+ *
+ * <p>A background sender reads due messages in batches and sends them through a {@link RestFanOut},
+ * so notifications never compete in bursts with interaction replies. Sent messages are deleted;
+ * transient failures are retried with exponential backoff; messages Discord will never deliver
+ * (closed DMs, unknown user) or out of attempts are dropped. Messages left in the table when the
+ * server stops are sent after the next start, so a message may rarely be delivered twice.
+ */
+final class DmOutbox {
+
+    // Errors that retrying cannot fix
+    private static final Set<ErrorResponse> PERMANENT_ERRORS = EnumSet.of(
+            ErrorResponse.CANNOT_SEND_TO_USER,
+            ErrorResponse.UNKNOWN_USER
+    );
+    // Errors after which a cached private channel is not reused
+    private static final Set<ErrorResponse> CHANNEL_ERRORS = EnumSet.of(
+            ErrorResponse.CANNOT_SEND_TO_USER,
+            ErrorResponse.UNKNOWN_USER,
+            ErrorResponse.UNKNOWN_CHANNEL
+    );
+
+    private final WhitelistBot plugin;
+    private final DiscordBotManager discord;
+    private final DiscordUserCache userCache;
+    private final ScheduledExecutorService scheduler;
+    private final RestFanOut fanOut;
+    private final int batchSize;
+    private final long pollIntervalMillis;
+    private final int maxAttempts;
+    private final long retryInitialDelayMillis;
+    private final long retryMaxDelayMillis;
+    private boolean draining;
+    private boolean wokenWhileDraining;
+
+    private final Timer deliveryTimer;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter dropped;
+
+    DmOutbox(WhitelistBot plugin, DiscordBotManager discord, DiscordUserCache userCache,
+             ScheduledExecutorService scheduler, LongSupplier rateLimits) {
+        this.plugin = plugin;
+        this.discord = discord;
+        this.userCache = userCache;
+        this.scheduler = scheduler;
+        this.fanOut = new RestFanOut(
+                scheduler,
+                plugin.getConfig().getInt("discord.dm-outbox.max-in-flight", 1),
+                new TokenBucket(plugin.getConfig().getInt("discord.dm-outbox.burst", 5),
+                        plugin.getConfig().getDouble("discord.dm-outbox.messages-per-minute", 30)),
+                rateLimits);
+        this.batchSize = Math.max(1, plugin.getConfig().getInt("discord.dm-outbox.batch-size", 20));
+        this.pollIntervalMillis = Math.max(100, plugin.getConfig().getLong("discord.dm-outbox.poll-interval-ms", 1000));
+        this.maxAttempts = Math.max(1, plugin.getConfig().getInt("discord.dm-outbox.max-attempts", 8));
+        this.retryInitialDelayMillis = TimeUnit.SECONDS.toMillis(plugin.getConfig().getLong("discord.dm-outbox.retry-initial-delay-seconds", 10));
+        this.retryMaxDelayMillis = TimeUnit.SECONDS.toMillis(plugin.getConfig().getLong("discord.dm-outbox.retry-max-delay-seconds", 3600));
+
+        MetricsRegistry metrics = plugin.getMetrics();
+        this.deliveryTimer = metrics.timer("whitelistbot_dm_delivery_seconds", "Time from queuing a DM to Discord accepting it, retries included");
+        String help = "DMs by outcome: sent, failed and retried later, or dropped (undeliverable or out of attempts)";
+        this.sent = metrics.counter("whitelistbot_dm_outbox_total", help, "result", "sent");
+        this.retried = metrics.counter("whitelistbot_dm_outbox_total", help, "result", "retried");
+        this.dropped = metrics.counter("whitelistbot_dm_outbox_total", help, "result", "dropped");
+    }
+
+    /**
+     * Polls the table for due messages (retries, messages left from the last run) until the scheduler stops.
+     */
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::wake, 0, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stores the message; it is sent in the background. The future completes once the message is durable.
+     */
+    CompletableFuture<Void> enqueue(String discordId, String title, String message, Color color) {
+        return plugin.getAsyncDatabase().enqueueDm(discordId, title, message, color.getRGB() & 0xFFFFFF)
+                .thenRun(this::wake);
+    }
+
+    // Starts a batch unless one is running; a batch running now checks again when it ends
+    private void wake() {
+        synchronized (this) {
+            if (draining) {
+                wokenWhileDraining = true;
+                return;
+            }
+            draining = true;
+            wokenWhileDraining = false;
+        }
+
+        try {
+            scheduler.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // Scheduler stopped: the messages stay in the table for the next start
+            synchronized (this) {
+                draining = false;
+            }
+        }
+    }
+
+    private void drain() {
+        JDA jda = discord.getJDA();
+        if (jda == null || !discord.isReady()) {
+            finished(false);
+            return;
+        }
+
+        plugin.getAsyncDatabase().getDueDms(System.currentTimeMillis(), batchSize).thenCompose(batch -> {
+            if (batch.isEmpty()) {
+                return CompletableFuture.completedFuture(false);
+            }
+
+            List<Supplier<? extends CompletableFuture<?>>> actions = new ArrayList<>(batch.size());
+            for (OutboxMessage message : batch) {
+                actions.add(() -> send(jda, message));
+            }
+            // The next batch is read once these outcomes are committed, so nothing is sent twice
+            List<CompletableFuture<Void>> outcomes = Collections.synchronizedList(new ArrayList<>());
+            return fanOut.run(actions, progress -> { }, (index, error) -> outcomes.add(record(batch.get(index), error)))
+                    .thenCompose(progress -> CompletableFuture.allOf(outcomes.toArray(new CompletableFuture[0])))
+                    .thenApply(ignored -> batch.size() == batchSize);
+        }).whenComplete((full, error) -> {
+            if (error != null) {
+                plugin.getLogger().warning(plugin.getPrefix() + " Could not read the DM outbox: "
+                        + AsyncDatabaseManager.unwrap(error).getMessage());
+            }
+            finished(error == null && full);
+        });
+    }
+
+    private synchronized void finished(boolean more) {
+        draining = false;
+        if (more || wokenWhileDraining) {
+            try {
+                scheduler.execute(this::wake);
+            } catch (RejectedExecutionException e) {
+                // Stopping: the next start sends what is left
+            }
+        }
+    }
+
+    // One REST call when the private channel is cached, two otherwise
+    private CompletableFuture<?> send(JDA jda, OutboxMessage message) {
+        MessageEmbed embed = new EmbedBuilder()
+                .setTitle(message.getTitle())
+                .setDescription(message.getMessage())
+                .setColor(message.getColor())
+                .setFooter("Whitelist Bot", jda.getSelfUser().getAvatarUrl())
+                .build();
+
+        return userCache.privateChannel(jda, message.getDiscordId())
+                .thenCompose(channel -> channel.sendMessageEmbeds(embed).submit());
+    }
+
+    private CompletableFuture<Void> record(OutboxMessage message, Throwable error) {
+        AsyncDatabaseManager database = plugin.getAsyncDatabase();
+
+        if (error == null) {
+            sent.increment();
+            deliveryTimer.record(TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - message.getCreatedTime()));
+            return database.deleteDm(message.getId()).exceptionally(this::logWriteError);
+        }
+
+        int attempts = message.getAttempts() + 1;
+        ErrorResponse response = error instanceof ErrorResponseException exception ? exception.getErrorResponse() : null;
+        if (CHANNEL_ERRORS.contains(response)) {
+            userCache.invalidate(message.getDiscordId());
+        }
+        boolean permanent = PERMANENT_ERRORS.contains(response);
+        if (permanent || attempts >= maxAttempts) {
+            dropped.increment();
+            plugin.getLogger().warning(plugin.getPrefix() + " DM to " + message.getDiscordId() + " dropped after " + attempts
+                    + " attempt(s): " + error.getMessage());
+            return database.deleteDm(message.getId()).exceptionally(this::logWriteError);
+        }
+
+        retried.increment();
+        long delay = Math.min(retryMaxDelayMillis, retryInitialDelayMillis << Math.min(20, attempts - 1));
+        long delayMillis = delay * ThreadLocalRandom.current().nextInt(80, 121) / 100;
+        return database.rescheduleDm(message.getId(), attempts, System.currentTimeMillis() + delayMillis, error.getMessage())
+                .exceptionally(this::logWriteError);
+    }
+
+    private Void logWriteError(Throwable error) {
+        plugin.getLogger().warning(plugin.getPrefix() + " Could not update the DM outbox: "
+                + AsyncDatabaseManager.unwrap(error).getMessage());
+        return null;
+    }
+}
@@ -0,0 +1,107 @@
+package fr.yourserver.whitelistbot.discord;
+
+import fr.yourserver.whitelistbot.metrics.Counter;
+import fr.yourserver.whitelistbot.metrics.MetricsRegistry;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-user interaction state (a request waiting for Confirm, the page of a list) that disappears
+ * when the interaction can no longer be used.
+ *
+ * <p>Entries expire {@code ttlTicks} ticks after their last write. Expiry is driven by a timing wheel:
+ * each tick only visits the keys whose deadline falls on that tick, so cleanup costs nothing while
+ * the store is idle and never scans the whole map. Beyond {@code maxEntries}, the entries closest
+ * to expiry are dropped first. {@link #tick()} must be called at a fixed rate.
+ */
+final class ExpiringSessionStore<V> {
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long deadline;
+
+        private Entry(V value, long deadline) {
+            this.value = value;
+            this.deadline = deadline;
+        }
+    }
+
+    private final int ttlTicks;
+    private final int maxEntries;
+    private final Map<String, Entry<V>> entries = new HashMap<>();
+    // Keys by deadline modulo the wheel size; a key may stay in an old slot after being rewritten
+    private final ArrayDeque<String>[] wheel;
+    private long now;
+
+    private final Counter expired;
+    private final Counter evicted;
+
+    @SuppressWarnings("unchecked")
+    ExpiringSessionStore(String name, int ttlTicks, int maxEntries, MetricsRegistry metrics) {
+        this.ttlTicks = Math.max(1, ttlTicks);
+        this.maxEntries = Math.max(1, maxEntries);
+        // One slot per tick of the TTL: a deadline never wraps onto the current slot
+        this.wheel = new ArrayDeque[this.ttlTicks + 1];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+
+        metrics.gauge("whitelistbot_sessions", "Entries in the bot's in-memory maps", this::size, "map", name);
+        String help = "Sessions removed before use: expired, or dropped because the store was full";
+        this.expired = metrics.counter("whitelistbot_sessions_removed_total", help, "map", name, "reason", "expired");
+        this.evicted = metrics.counter("whitelistbot_sessions_removed_total", help, "map", name, "reason", "capacity");
+    }
+
+    synchronized void put(String key, V value) {
+        long deadline = now + ttlTicks;
+        entries.put(key, new Entry<>(value, deadline));
+        wheel[slot(deadline)].add(key);
+
+        // Oldest deadlines first, starting with the next slot to expire
+        for (long tick = now + 1; entries.size() > maxEntries && tick <= deadline; tick++) {
+            drop(tick, true);
+        }
+    }
+
+    synchronized V get(String key) {
+        Entry<V> entry = entries.get(key);
+        return entry != null ? entry.value : null;
+    }
+
+    synchronized V remove(String key) {
+        Entry<V> entry = entries.remove(key);
+        return entry != null ? entry.value : null;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Advances the wheel by one tick and drops the entries whose deadline it reaches.
+     */
+    synchronized void tick() {
+        now++;
+        drop(now, false);
+    }
+
+    // Removes the live entries whose deadline is this tick (all of them, or until the store is back
+    // under its cap); keys left behind by a rewrite or a removal are skipped
+    private void drop(long tick, boolean toCapacity) {
+        ArrayDeque<String> keys = wheel[slot(tick)];
+        while (!keys.isEmpty() && (!toCapacity || entries.size() > maxEntries)) {
+            String key = keys.poll();
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.deadline == tick) {
+                entries.remove(key);
+                (toCapacity ? evicted : expired).increment();
+            }
+        }
+    }
+
+    private int slot(long tick) {
+        return (int) (tick % wheel.length);
+    }
+}
@@ -0,0 +1,29 @@
+package fr.yourserver.whitelistbot.discord;
+
+import java.util.concurrent.ExecutorService;
+import java.util.logging.Logger;
+
+/**
+ * Creates the executor that runs Discord interaction handlers.
+ * This is the Java 17 version: only the bounded platform pool is available.
+ * The multi-release jar ships a Java 21 version (src/main/java21) that can use virtual threads.
+ */
+public final class InteractionExecutors {
+    
+    private InteractionExecutors() {
+    }
+    
+    /**
+     * @param mode "auto", "virtual" or "platform" (discord.interaction-executor.mode)
+     */
+    public static ExecutorService create(String mode, int maxThreads, int queueCapacity, Logger logger, String prefix) {
+        if ("virtual".equalsIgnoreCase(mode)) {
+            logger.warning(prefix + " Virtual threads require Java 21 or newer, using a pool of " + maxThreads + " threads instead.");
+        }
+        return InteractionThreadPool.create(maxThreads, queueCapacity);
+    }
+    
+    public static boolean supportsVirtualThreads() {
+        return false;
+    }
+}
@@ -0,0 +1,35 @@
+package fr.yourserver.whitelistbot.discord;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of platform threads for Discord interaction handlers.
+ * Used on Java 17, or when virtual threads are disabled in the config.
+ * When both the threads and the queue are busy, new interactions are rejected
+ * so the caller can answer "busy" instead of letting work pile up.
+ */
+public final class InteractionThreadPool {
+    
+    private InteractionThreadPool() {
+    }
+    
+    public static ExecutorService create(int maxThreads, int queueCapacity) {
+        int poolSize = Math.max(1, maxThreads);
+        AtomicInteger counter = new AtomicInteger();
+        
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "WhitelistBot-Interaction-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
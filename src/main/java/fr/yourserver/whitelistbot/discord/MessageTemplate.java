@@ -0,0 +1,82 @@
+package fr.yourserver.whitelistbot.discord;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A message text parsed once into literal parts and numbered slots, so rendering is a single
+ * pass over precomputed pieces. Slots are written {@code {name}}; a name not declared when
+ * compiling is kept as plain text.
+ */
+final class MessageTemplate {
+
+    // literals[i] comes before the slot slots[i]; the last literal follows the last slot
+    private final String[] literals;
+    private final int[] slots;
+    private final int literalLength;
+
+    private MessageTemplate(String[] literals, int[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * @param slotNames names accepted in the text; {@link #render} takes their values in this order
+     */
+    static MessageTemplate compile(String text, List<String> slotNames) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        int position = 0;
+        while (position < text.length()) {
+            int open = text.indexOf('{', position);
+            int close = open >= 0 ? text.indexOf('}', open + 1) : -1;
+            if (close < 0) {
+                literal.append(text, position, text.length());
+                break;
+            }
+
+            int slot = slotNames.indexOf(text.substring(open + 1, close));
+            if (slot < 0) {
+                // Not a slot: keep the brace and look for the next one
+                literal.append(text, position, open + 1);
+                position = open + 1;
+                continue;
+            }
+
+            literal.append(text, position, open);
+            literals.add(literal.toString());
+            literal.setLength(0);
+            slots.add(slot);
+            position = close + 1;
+        }
+        literals.add(literal.toString());
+
+        return new MessageTemplate(literals.toArray(new String[0]), slots.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * The text with each slot replaced by its value; a missing or null value renders as an empty string.
+     */
+    String render(Object... values) {
+        if (slots.length == 0) {
+            return literals[0];
+        }
+
+        StringBuilder text = new StringBuilder(literalLength + 16 * slots.length);
+        for (int i = 0; i < slots.length; i++) {
+            text.append(literals[i]);
+            Object value = slots[i] < values.length ? values[slots[i]] : null;
+            if (value != null) {
+                text.append(value);
+            }
+        }
+        return text.append(literals[slots.length]).toString();
+    }
+}
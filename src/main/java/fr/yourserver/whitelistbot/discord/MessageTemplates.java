@@ -0,0 +1,183 @@
+package fr.yourserver.whitelistbot.discord;
+
+import fr.yourserver.whitelistbot.database.RequestStatus;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.awt.Color;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * The bot's texts ({@code messages} and {@code discord.embed-messages}), embed colors
+ * ({@code discord.colors}) and date format, read from the configuration and compiled once.
+ * An instance never changes: a reload builds a new one.
+ */
+final class MessageTemplates {
+
+    /**
+     * A configurable text, its default and the slots it accepts, in {@link MessageTemplate#render} order.
+     */
+    enum Key {
+        REQUEST_SENT("messages.request-sent", "✅ Your request has been sent to administrators!"),
+        INVALID_USERNAME("messages.invalid-username", "❌ The provided Minecraft username is not valid."),
+        ALREADY_WHITELISTED("messages.already-whitelisted", "✅ You are already whitelisted on our server! No need to request again."),
+        ALREADY_PENDING("messages.already-pending", "⏳ You already have a pending whitelist request. Please wait for admin review."),
+        USERNAME_TAKEN("messages.username-taken", "❌ This Minecraft username is already whitelisted by another Discord user!"),
+        REQUEST_EXPIRED("messages.request-expired", "❌ Error: Request expired or not found."),
+        NO_PERMISSION("messages.no-permission", "❌ You don't have permission to perform this action."),
+        INVALID_BUTTON("messages.invalid-button", "❌ Invalid button ID."),
+        REQUEST_NOT_FOUND("messages.request-not-found", "❌ Request not found."),
+        PROCESSING_ERROR("messages.processing-error", "❌ Error processing action."),
+        ALREADY_REQUESTED("messages.already-requested", "⚠️ You already have a pending request."),
+        REQUEST_APPROVED("messages.request-approved", "✅ Request approved! Player added to whitelist."),
+        REQUEST_DENIED("messages.request-denied", "❌ Request denied."),
+        TICKET_CREATED("messages.ticket-created", "🎫 Ticket channel created successfully."),
+        WHITELIST_ADD_FAILED("messages.whitelist-add-failed", "⚠️ `{username}` could not be added to the Minecraft whitelist ({reason}). "
+                + "Add them manually with `/whitelist add`.", "username", "reason"),
+
+        REQUEST_TITLE(Key.EMBED + "request-title", "🎮 Minecraft Whitelist Request"),
+        REQUEST_DESCRIPTION(Key.EMBED + "request-description", "Click the button below to request access to our Minecraft server!"),
+        REQUEST_FOOTER(Key.EMBED + "request-footer", "Whitelist Bot"),
+        REQUEST_BUTTON(Key.EMBED + "request-button-text", "Request Whitelist"),
+
+        ADMIN_TITLE(Key.EMBED + "admin-title", "📋 New Whitelist Request"),
+        ADMIN_FOOTER(Key.EMBED + "admin-footer", "Awaiting admin review"),
+        ADMIN_APPROVE_BUTTON(Key.EMBED + "admin-approve-button", "✅ Approve"),
+        ADMIN_DENY_BUTTON(Key.EMBED + "admin-deny-button", "❌ Deny"),
+        ADMIN_TICKET_BUTTON(Key.EMBED + "admin-ticket-button", "🎫 [DEV]Create Ticket"),
+
+        VERIFICATION_TITLE(Key.EMBED + "verification-title", "🔍 Verification"),
+        VERIFICATION_DESCRIPTION(Key.EMBED + "verification-description", "Please verify that the information is correct before confirming your request."),
+        VERIFICATION_FOOTER(Key.EMBED + "verification-footer", "Check your NameMC profile"),
+        VERIFICATION_NAMEMC(Key.EMBED + "verification-namemc-text", "**NameMC Profile:** [Click here](https://namemc.com/profile/{username})", "username"),
+        VERIFICATION_CONFIRM_BUTTON(Key.EMBED + "verification-confirm-button", "✅ Confirm Request"),
+        VERIFICATION_CANCEL_BUTTON(Key.EMBED + "verification-cancel-button", "❌ Cancel"),
+
+        LIST_TITLE(Key.EMBED + "list-title", "📋 Whitelist Requests List"),
+        LIST_FOOTER(Key.EMBED + "list-footer-template", "Page {current}/{total} • Total: {count} requests", "current", "total", "count"),
+        LIST_EMPTY(Key.EMBED + "list-empty", "📋 No whitelist requests found."),
+        LIST_PREV_BUTTON(Key.EMBED + "list-prev-button", "◀ Previous"),
+        LIST_NEXT_BUTTON(Key.EMBED + "list-next-button", "Next ▶"),
+        LIST_PAGE_INFO(Key.EMBED + "list-page-info", "Page {current}/{total}", "current", "total"),
+
+        APPROVAL_TITLE(Key.EMBED + "approval-title", "📋 Whitelist Request Update"),
+        APPROVAL_MESSAGE(Key.EMBED + "approval-message", "🎉 **Great news!** Your whitelist request has been **approved**!\n\n"
+                + "**Minecraft Username:** {username}\n**Approved by:** {admin}\n**Date:** {date}\n\n"
+                + "You can now join our Minecraft server! Welcome aboard! 🎮", "username", "admin", "date"),
+        DENIAL_TITLE(Key.EMBED + "denial-title", "📋 Whitelist Request Update"),
+        DENIAL_MESSAGE(Key.EMBED + "denial-message", "😔 **We're sorry to inform you** that your whitelist request has been **denied**.\n\n"
+                + "**Minecraft Username:** {username}\n**Denied by:** {admin}\n**Date:** {date}\n\n"
+                + "If you have questions, please contact our staff team.", "username", "admin", "date"),
+        TICKET_TITLE(Key.EMBED + "ticket-title", "📋 Whitelist Request Update"),
+        TICKET_MESSAGE(Key.EMBED + "ticket-message", "🎫 **Your whitelist request requires additional review.**\n\n"
+                + "**Minecraft Username:** {username}\n**Staff Member:** {admin}\n**Date:** {date}\n\n"
+                + "A ticket has been created for further discussion. A staff member will contact you soon.", "username", "admin", "date"),
+        REMOVAL_TITLE(Key.EMBED + "removal-title", "🚫 Whitelist Removal Notice"),
+        REMOVAL_MESSAGE(Key.EMBED + "removal-message", "**Your whitelist access has been removed.**\n\n"
+                + "**Minecraft Username:** {username}\n**Removed by:** {admin}\n**Date:** {date}\n\n"
+                + "If you believe this was done in error, please contact our staff team.", "username", "admin", "date");
+
+        private static final String EMBED = "discord.embed-messages.";
+
+        private final String path;
+        private final String defaultText;
+        private final List<String> slots;
+
+        Key(String path, String defaultText, String... slots) {
+            this.path = path;
+            this.defaultText = defaultText;
+            this.slots = List.of(slots);
+        }
+    }
+
+    private static final String DEFAULT_DATE_FORMAT = "MM/dd/yyyy HH:mm";
+
+    private final Map<Key, MessageTemplate> templates = new EnumMap<>(Key.class);
+    private final DateTimeFormatter dateFormat;
+    private final Color pendingColor;
+    private final Color approvedColor;
+    private final Color deniedColor;
+    private final Color ticketColor;
+    private final Color listColor;
+    private final Color verificationColor;
+    private final Color removalColor;
+
+    /**
+     * Compiles every text of the configuration; invalid colors or date format fall back to the defaults with a warning.
+     */
+    MessageTemplates(ConfigurationSection config, Logger logger, String prefix) {
+        for (Key key : Key.values()) {
+            templates.put(key, MessageTemplate.compile(config.getString(key.path, key.defaultText), key.slots));
+        }
+
+        DateTimeFormatter format;
+        String pattern = config.getString("discord.date-format", DEFAULT_DATE_FORMAT);
+        try {
+            format = DateTimeFormatter.ofPattern(pattern);
+        } catch (IllegalArgumentException e) {
+            logger.warning(prefix + " Invalid discord.date-format \"" + pattern + "\", using " + DEFAULT_DATE_FORMAT);
+            format = DateTimeFormatter.ofPattern(DEFAULT_DATE_FORMAT);
+        }
+        this.dateFormat = format;
+
+        this.pendingColor = color(config, "pending", new Color(0xFF8C00), logger, prefix);
+        this.approvedColor = color(config, "approved", Color.GREEN, logger, prefix);
+        this.deniedColor = color(config, "denied", Color.RED, logger, prefix);
+        this.ticketColor = color(config, "ticket", Color.CYAN, logger, prefix);
+        this.listColor = color(config, "list", Color.CYAN, logger, prefix);
+        this.verificationColor = color(config, "verification", Color.ORANGE, logger, prefix);
+        this.removalColor = color(config, "removal", Color.RED, logger, prefix);
+    }
+
+    /**
+     * Text without slots, or with its slots left empty.
+     */
+    String text(Key key) {
+        return templates.get(key).render();
+    }
+
+    String render(Key key, Object... values) {
+        return templates.get(key).render(values);
+    }
+
+    DateTimeFormatter getDateFormat() {
+        return dateFormat;
+    }
+
+    Color getColor(RequestStatus status) {
+        return switch (status) {
+            case PENDING -> pendingColor;
+            case APPROVED -> approvedColor;
+            case DENIED -> deniedColor;
+            case TICKET -> ticketColor;
+        };
+    }
+
+    Color getListColor() {
+        return listColor;
+    }
+
+    Color getVerificationColor() {
+        return verificationColor;
+    }
+
+    Color getRemovalColor() {
+        return removalColor;
+    }
+
+    private static Color color(ConfigurationSection config, String name, Color fallback, Logger logger, String prefix) {
+        String value = config.getString("discord.colors." + name);
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Color.decode(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warning(prefix + " Invalid color discord.colors." + name + " \"" + value + "\", using the default");
+            return fallback;
+        }
+    }
+}
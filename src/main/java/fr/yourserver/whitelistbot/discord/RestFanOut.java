@@ -0,0 +1,193 @@
+package fr.yourserver.whitelistbot.discord;
+
+import fr.yourserver.whitelistbot.mojang.TokenBucket;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Sends many REST calls without flooding JDA's request queue: at most {@code maxInFlight} at a time,
+ * paced by a token bucket that is emptied whenever Discord answers with a rate limit (HTTP 429).
+ * Buttons and commands keep getting answered while a bulk operation runs.
+ *
+ * <p>Each call is started by a supplier returning its future, usually {@code RestAction.submit()},
+ * so a call may chain several steps (a cached lookup, then the request itself).
+ */
+final class RestFanOut {
+
+    /**
+     * Snapshot of a fan-out: how many actions there are and how many have succeeded or failed.
+     */
+    static final class Progress {
+        private final int total;
+        private final int succeeded;
+        private final int failed;
+
+        private Progress(int total, int succeeded, int failed) {
+            this.total = total;
+            this.succeeded = succeeded;
+            this.failed = failed;
+        }
+
+        int getTotal() {
+            return total;
+        }
+
+        int getSucceeded() {
+            return succeeded;
+        }
+
+        int getFailed() {
+            return failed;
+        }
+
+        int getDone() {
+            return succeeded + failed;
+        }
+    }
+
+    private final ScheduledExecutorService scheduler;
+    private final int maxInFlight;
+    private final TokenBucket bucket;
+    private final LongSupplier rateLimits;
+
+    /**
+     * @param rateLimits running count of rate-limited responses, e.g. from {@code onHttpRequest}
+     */
+    RestFanOut(ScheduledExecutorService scheduler, int maxInFlight, TokenBucket bucket, LongSupplier rateLimits) {
+        this.scheduler = scheduler;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.bucket = bucket;
+        this.rateLimits = rateLimits;
+    }
+
+    /**
+     * Told how each action ended: {@code error} is null on success.
+     */
+    @FunctionalInterface
+    interface ResultListener {
+        void onResult(int index, Throwable error);
+    }
+
+    /**
+     * Queues the actions in order. {@code onProgress} is called after each one completes; the returned
+     * future completes with the final counts once every action has succeeded or failed.
+     */
+    CompletableFuture<Progress> run(List<Supplier<? extends CompletableFuture<?>>> actions, Consumer<Progress> onProgress) {
+        return run(actions, onProgress, (index, error) -> { });
+    }
+
+    CompletableFuture<Progress> run(List<Supplier<? extends CompletableFuture<?>>> actions, Consumer<Progress> onProgress,
+                                    ResultListener onResult) {
+        Run run = new Run(actions, onProgress, onResult);
+        run.pump();
+        return run.done;
+    }
+
+    private final class Run {
+        private final List<Supplier<? extends CompletableFuture<?>>> actions;
+        private final Consumer<Progress> onProgress;
+        private final ResultListener onResult;
+        private final CompletableFuture<Progress> done = new CompletableFuture<>();
+        private int next;
+        private int inFlight;
+        private int succeeded;
+        private int failed;
+        private boolean waiting;
+        private long seenRateLimits = rateLimits.getAsLong();
+
+        private Run(List<Supplier<? extends CompletableFuture<?>>> actions, Consumer<Progress> onProgress, ResultListener onResult) {
+            this.actions = actions;
+            this.onProgress = onProgress;
+            this.onResult = onResult;
+        }
+
+        private void pump() {
+            List<CompletableFuture<?>> started = new ArrayList<>();
+            List<Integer> startedIndexes = new ArrayList<>();
+            Map<Integer, RuntimeException> notBuilt = new LinkedHashMap<>();
+            Progress finished = null;
+
+            synchronized (this) {
+                while (!waiting && inFlight < maxInFlight && next < actions.size()) {
+                    long observed = rateLimits.getAsLong();
+                    if (observed != seenRateLimits) {
+                        seenRateLimits = observed;
+                        bucket.drain();
+                    }
+
+                    long wait = bucket.tryAcquire();
+                    if (wait > 0) {
+                        waiting = true;
+                        scheduler.schedule(this::resume, wait, TimeUnit.NANOSECONDS);
+                        break;
+                    }
+
+                    int index = next++;
+                    try {
+                        started.add(actions.get(index).get());
+                        startedIndexes.add(index);
+                        inFlight++;
+                    } catch (RuntimeException e) {
+                        failed++;
+                        notBuilt.put(index, e);
+                    }
+                }
+
+                if (inFlight == 0 && next == actions.size()) {
+                    finished = snapshot();
+                }
+            }
+
+            // Outside the lock: stand-in or cached actions may call back synchronously
+            notBuilt.forEach(onResult::onResult);
+            for (int i = 0; i < started.size(); i++) {
+                int index = startedIndexes.get(i);
+                started.get(i).whenComplete((result, error) -> completed(index, error));
+            }
+            if (finished != null) {
+                done.complete(finished);
+            }
+        }
+
+        private void resume() {
+            synchronized (this) {
+                waiting = false;
+            }
+            pump();
+        }
+
+        private void completed(int index, Throwable error) {
+            if (error instanceof CompletionException && error.getCause() != null) {
+                error = error.getCause();
+            }
+            onResult.onResult(index, error);
+
+            Progress progress;
+            synchronized (this) {
+                inFlight--;
+                if (error == null) {
+                    succeeded++;
+                } else {
+                    failed++;
+                }
+                progress = snapshot();
+            }
+            onProgress.accept(progress);
+            pump();
+        }
+
+        private synchronized Progress snapshot() {
+            return new Progress(actions.size(), succeeded, failed);
+        }
+    }
+}
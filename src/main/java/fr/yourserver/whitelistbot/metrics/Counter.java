@@ -0,0 +1,24 @@
+package fr.yourserver.whitelistbot.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteur monotone. {@link LongAdder} répartit les incréments entre threads : pas de contention
+ * sur le chemin chaud, la somme n'est calculée qu'à la lecture.
+ */
+public class Counter {
+
+    private final LongAdder value = new LongAdder();
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+}
@@ -0,0 +1,162 @@
+package fr.yourserver.whitelistbot.metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Registre des métriques du plugin : compteurs, durées et jauges, regroupés par nom et étiquettes.
+ * Les appelants récupèrent leurs métriques une fois (à la construction) et les conservent :
+ * l'enregistrement ne passe alors plus par le registre. La lecture (commande Discord, export
+ * Prometheus) parcourt les métriques sans bloquer les enregistrements.
+ */
+public class MetricsRegistry {
+
+    private enum Type {
+        COUNTER("counter"), GAUGE("gauge"), HISTOGRAM("histogram");
+
+        private final String prometheusName;
+
+        Type(String prometheusName) {
+            this.prometheusName = prometheusName;
+        }
+    }
+
+    // Toutes les séries d'un même nom, indexées par leurs étiquettes déjà formatées
+    private static final class Family {
+        private final String name;
+        private final String help;
+        private final Type type;
+        private final Map<String, Object> series = new ConcurrentSkipListMap<>();
+
+        private Family(String name, String help, Type type) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+        }
+    }
+
+    private final Map<String, Family> families = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param labels paires nom / valeur, par exemple {@code "query", "save"}
+     */
+    public Counter counter(String name, String help, String... labels) {
+        return (Counter) family(name, help, Type.COUNTER).series.computeIfAbsent(formatLabels(labels), ignored -> new Counter());
+    }
+
+    public Timer timer(String name, String help, String... labels) {
+        return (Timer) family(name, help, Type.HISTOGRAM).series.computeIfAbsent(formatLabels(labels), ignored -> new Timer());
+    }
+
+    /**
+     * Jauge lue à chaque export ; un nouvel enregistrement avec les mêmes étiquettes remplace le précédent.
+     */
+    public void gauge(String name, String help, LongSupplier value, String... labels) {
+        family(name, help, Type.GAUGE).series.put(formatLabels(labels), value);
+    }
+
+    private Family family(String name, String help, Type type) {
+        Family family = families.computeIfAbsent(name, ignored -> new Family(name, help, type));
+        if (family.type != type) {
+            throw new IllegalArgumentException("Métrique " + name + " déjà enregistrée comme " + family.type.prometheusName);
+        }
+        return family;
+    }
+
+    /**
+     * Export au format texte Prometheus (version 0.0.4).
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        String[] bounds = Timer.getBoundLabels();
+
+        for (Family family : families.values()) {
+            out.append("# HELP ").append(family.name).append(' ').append(family.help).append('\n');
+            out.append("# TYPE ").append(family.name).append(' ').append(family.type.prometheusName).append('\n');
+
+            for (Map.Entry<String, Object> entry : family.series.entrySet()) {
+                String labels = entry.getKey();
+                switch (family.type) {
+                    case COUNTER -> sample(out, family.name, labels, null, ((Counter) entry.getValue()).get());
+                    case GAUGE -> sample(out, family.name, labels, null, ((LongSupplier) entry.getValue()).getAsLong());
+                    case HISTOGRAM -> {
+                        Timer timer = (Timer) entry.getValue();
+                        long[] counts = timer.getBucketCounts();
+                        long cumulative = 0;
+                        for (int i = 0; i < bounds.length; i++) {
+                            cumulative += counts[i];
+                            sample(out, family.name + "_bucket", labels, "le=\"" + bounds[i] + "\"", cumulative);
+                        }
+                        cumulative += counts[bounds.length];
+                        sample(out, family.name + "_bucket", labels, "le=\"+Inf\"", cumulative);
+                        out.append(family.name).append("_sum").append(braces(labels, null)).append(' ')
+                                .append(timer.getSumNanos() / (double) TimeUnit.SECONDS.toNanos(1)).append('\n');
+                        sample(out, family.name + "_count", labels, null, cumulative);
+                    }
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Résumé lisible par métrique (commande Discord) : une ligne par série, étiquettes comprises.
+     */
+    public Map<String, List<String>> describe() {
+        Map<String, List<String>> summary = new LinkedHashMap<>();
+
+        for (Family family : families.values()) {
+            List<String> lines = new ArrayList<>();
+            for (Map.Entry<String, Object> entry : family.series.entrySet()) {
+                String series = entry.getKey().isEmpty() ? "" : entry.getKey().replace("\"", "") + ": ";
+                String value = switch (family.type) {
+                    case COUNTER -> String.valueOf(((Counter) entry.getValue()).get());
+                    case GAUGE -> String.valueOf(((LongSupplier) entry.getValue()).getAsLong());
+                    case HISTOGRAM -> describe((Timer) entry.getValue());
+                };
+                lines.add(series + value);
+            }
+            summary.put(family.name, lines);
+        }
+        return summary;
+    }
+
+    private static String describe(Timer timer) {
+        return String.format(Locale.ROOT, "n=%d p50=%.1fms p99=%.1fms max=%.1fms",
+                timer.getCount(),
+                timer.getQuantileNanos(0.50) / 1e6,
+                timer.getQuantileNanos(0.99) / 1e6,
+                timer.getMaxNanos() / 1e6);
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, String extraLabel, long value) {
+        out.append(name).append(braces(labels, extraLabel)).append(' ').append(value).append('\n');
+    }
+
+    private static String braces(String labels, String extraLabel) {
+        if (extraLabel == null) {
+            return labels.isEmpty() ? "" : "{" + labels + "}";
+        }
+        return labels.isEmpty() ? "{" + extraLabel + "}" : "{" + labels + "," + extraLabel + "}";
+    }
+
+    private static String formatLabels(String... labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Les étiquettes vont par paires nom / valeur");
+        }
+        StringBuilder formatted = new StringBuilder();
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) formatted.append(',');
+            formatted.append(labels[i]).append("=\"")
+                    .append(labels[i + 1].replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n"))
+                    .append('"');
+        }
+        return formatted.toString();
+    }
+}
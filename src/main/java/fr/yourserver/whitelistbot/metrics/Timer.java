@@ -0,0 +1,100 @@
+package fr.yourserver.whitelistbot.metrics;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogramme de durées à seaux fixes (exposé comme un histogramme Prometheus, en secondes).
+ * Enregistrer une mesure coûte une recherche dans une douzaine de bornes et trois incréments sans verrou.
+ */
+public class Timer {
+
+    // Bornes supérieures des seaux, de 0,5 ms à 10 s
+    private static final long[] BOUNDS_NANOS = {
+            500_000L, 1_000_000L, 2_500_000L, 5_000_000L, 10_000_000L, 25_000_000L, 50_000_000L,
+            100_000_000L, 250_000_000L, 500_000_000L, 1_000_000_000L, 2_500_000_000L, 5_000_000_000L, 10_000_000_000L
+    };
+
+    // Un seau de plus pour les mesures au-delà de la dernière borne (+Inf)
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_NANOS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public Timer() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        int bucket = 0;
+        while (bucket < BOUNDS_NANOS.length && nanos > BOUNDS_NANOS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        count.increment();
+        sumNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * Enregistre le temps écoulé depuis {@code startNanos} (valeur de {@link System#nanoTime()}).
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSumNanos() {
+        return sumNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Estimation d'un quantile : borne supérieure du seau qui le contient (le maximum observé au-delà de 10 s).
+     */
+    public long getQuantileNanos(double quantile) {
+        long[] counts = getBucketCounts();
+        long total = 0;
+        for (long bucketCount : counts) {
+            total += bucketCount;
+        }
+        if (total == 0) return 0;
+
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BOUNDS_NANOS.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(BOUNDS_NANOS[i], getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    // Nombre de mesures par seau (non cumulé), le dernier étant +Inf
+    long[] getBucketCounts() {
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    // Bornes en secondes, au format attendu par l'étiquette le de Prometheus
+    static String[] getBoundLabels() {
+        String[] labels = new String[BOUNDS_NANOS.length];
+        for (int i = 0; i < BOUNDS_NANOS.length; i++) {
+            labels[i] = BigDecimal.valueOf(BOUNDS_NANOS[i], 9).stripTrailingZeros().toPlainString();
+        }
+        return labels;
+    }
+}
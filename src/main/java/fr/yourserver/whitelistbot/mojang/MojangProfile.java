@@ -0,0 +1,25 @@
+package fr.yourserver.whitelistbot.mojang;
+
+import java.util.UUID;
+
+/**
+ * Compte Minecraft existant : pseudo avec sa casse exacte et UUID.
+ */
+public class MojangProfile {
+
+    private final String name;
+    private final UUID uuid;
+
+    public MojangProfile(String name, UUID uuid) {
+        this.name = name;
+        this.uuid = uuid;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public UUID getUuid() {
+        return uuid;
+    }
+}
@@ -0,0 +1,48 @@
+package fr.yourserver.whitelistbot.mojang;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seau à jetons : autorise des rafales de {@code capacity} requêtes puis un débit moyen fixe.
+ */
+public class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(int capacity, double tokensPerMinute) {
+        this.capacity = Math.max(1, capacity);
+        this.tokensPerNano = Math.max(tokensPerMinute, 0.001) / TimeUnit.MINUTES.toNanos(1);
+        this.tokens = this.capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Prend un jeton s'il y en a un et renvoie 0, sinon renvoie le temps d'attente (en nanosecondes)
+     * avant le prochain jeton.
+     */
+    public synchronized long tryAcquire() {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    /**
+     * Vide le seau, par exemple quand le serveur distant signale un dépassement de limite (HTTP 429).
+     */
+    public synchronized void drain() {
+        refill();
+        tokens = 0;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+}
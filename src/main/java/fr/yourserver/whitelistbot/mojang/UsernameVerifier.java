@@ -0,0 +1,267 @@
+package fr.yourserver.whitelistbot.mojang;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import fr.yourserver.whitelistbot.metrics.Counter;
+import fr.yourserver.whitelistbot.metrics.MetricsRegistry;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Vérifie qu'un pseudo correspond à un compte Minecraft existant.
+ *
+ * <p>Les pseudos à vérifier sont regroupés pendant une courte fenêtre puis envoyés par lots de
+ * {@value #MAX_NAMES_PER_REQUEST} à l'API de recherche groupée de Mojang, au rythme autorisé par un
+ * {@link TokenBucket}. Les pseudos valides sont gardés en cache longtemps, les pseudos inconnus peu de
+ * temps (un compte peut être créé ou renommé entre-temps). Les demandes simultanées d'un même pseudo
+ * partagent une seule vérification. Les UUID obtenus sont transmis au {@link UuidResolver}.
+ */
+public class UsernameVerifier {
+
+    public static final int MAX_NAMES_PER_REQUEST = 10;
+    private static final Pattern VALID_NAME = Pattern.compile("^[A-Za-z0-9_]{3,16}$");
+
+    private static final class CachedResult {
+        private final MojangProfile profile;
+        private final long expiresAt;
+
+        private CachedResult(MojangProfile profile, long expiresAt) {
+            this.profile = profile;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final Logger logger;
+    private final String prefix;
+    private final UuidResolver uuidResolver;
+    private final URI endpoint;
+    private final long batchWindowMillis;
+    private final long validTtlMillis;
+    private final long invalidTtlMillis;
+    private final int maxCachedNames;
+    private final long maxWaitMillis;
+    private final Duration timeout;
+    private final TokenBucket rateLimit;
+    private final HttpClient httpClient;
+
+    private final Map<String, CachedResult> cache = new ConcurrentHashMap<>();
+    // Vérifications en attente ou en cours, par pseudo en minuscules
+    private final Map<String, CompletableFuture<MojangProfile>> pending = new ConcurrentHashMap<>();
+    private final Queue<String> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "WhitelistBot-Mojang");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Counter requestsOk;
+    private final Counter requestsRateLimited;
+    private final Counter requestsFailed;
+
+    public UsernameVerifier(Logger logger, String prefix, UuidResolver uuidResolver, String endpoint,
+                            long batchWindowMillis, long validTtlMillis, long invalidTtlMillis, int maxCachedNames,
+                            TokenBucket rateLimit, long timeoutMillis, long maxWaitMillis, MetricsRegistry metrics) {
+        this.logger = logger;
+        this.prefix = prefix;
+        this.uuidResolver = uuidResolver;
+        this.endpoint = URI.create(endpoint);
+        this.batchWindowMillis = Math.max(0, batchWindowMillis);
+        this.validTtlMillis = validTtlMillis;
+        this.invalidTtlMillis = invalidTtlMillis;
+        this.maxCachedNames = maxCachedNames;
+        this.maxWaitMillis = maxWaitMillis;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.rateLimit = rateLimit;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+
+        String lookupHelp = "Username verifications by where they were answered";
+        this.cacheHits = metrics.counter("whitelistbot_username_verifications_total", lookupHelp, "source", "cache");
+        this.cacheMisses = metrics.counter("whitelistbot_username_verifications_total", lookupHelp, "source", "mojang");
+        String requestHelp = "Mojang bulk profile requests by outcome";
+        this.requestsOk = metrics.counter("whitelistbot_mojang_requests_total", requestHelp, "outcome", "success");
+        this.requestsRateLimited = metrics.counter("whitelistbot_mojang_requests_total", requestHelp, "outcome", "rate_limited");
+        this.requestsFailed = metrics.counter("whitelistbot_mojang_requests_total", requestHelp, "outcome", "failure");
+        metrics.gauge("whitelistbot_username_verifications_pending", "Usernames waiting for a Mojang request", pending::size);
+    }
+
+    /**
+     * Profil du compte portant ce pseudo, ou null s'il n'existe pas (ou si le pseudo est mal formé).
+     * La future échoue si Mojang n'a pas pu répondre à temps ; à l'appelant de décider quoi faire.
+     */
+    public CompletableFuture<MojangProfile> verify(String username) {
+        if (!isWellFormed(username)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        String key = username.toLowerCase(Locale.ROOT);
+        CachedResult cached = cache.get(key);
+        if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+            cacheHits.increment();
+            return CompletableFuture.completedFuture(cached.profile);
+        }
+
+        CompletableFuture<MojangProfile> future = new CompletableFuture<>();
+        CompletableFuture<MojangProfile> existing = pending.putIfAbsent(key, future);
+        if (existing == null) {
+            cacheMisses.increment();
+            queue.add(key);
+            scheduleDrain(batchWindowMillis);
+            existing = future;
+        }
+        // Copie : le délai d'un appelant ne fait pas échouer la vérification partagée
+        return existing.copy().orTimeout(maxWaitMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public static boolean isWellFormed(String username) {
+        return username != null && VALID_NAME.matcher(username).matches();
+    }
+
+    private void scheduleDrain(long delayMillis) {
+        if (drainScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::drain, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Sur le thread dédié : envoie autant de lots que le seau de jetons le permet
+    private void drain() {
+        drainScheduled.set(false);
+
+        while (!queue.isEmpty()) {
+            long waitNanos = rateLimit.tryAcquire();
+            if (waitNanos > 0) {
+                scheduleDrain(Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos)));
+                return;
+            }
+
+            List<String> batch = new ArrayList<>(MAX_NAMES_PER_REQUEST);
+            String key;
+            while (batch.size() < MAX_NAMES_PER_REQUEST && (key = queue.poll()) != null) {
+                batch.add(key);
+            }
+            if (!batch.isEmpty()) {
+                send(batch);
+            }
+        }
+    }
+
+    private void send(List<String> batch) {
+        JsonArray names = new JsonArray();
+        batch.forEach(names::add);
+
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(names.toString()))
+                .build();
+
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            if (error != null) {
+                requestsFailed.increment();
+                fail(batch, error);
+                return;
+            }
+
+            if (response.statusCode() == 429) {
+                // Limite atteinte malgré le seau : attendre un jeton complet puis renvoyer le lot
+                requestsRateLimited.increment();
+                rateLimit.drain();
+                queue.addAll(batch);
+                scheduleDrain(batchWindowMillis);
+                return;
+            }
+            if (response.statusCode() != 200) {
+                requestsFailed.increment();
+                fail(batch, new IllegalStateException("Mojang API returned HTTP " + response.statusCode()));
+                return;
+            }
+
+            try {
+                complete(batch, parseProfiles(response.body()));
+                requestsOk.increment();
+            } catch (RuntimeException e) {
+                requestsFailed.increment();
+                fail(batch, e);
+            }
+        });
+    }
+
+    private static Map<String, MojangProfile> parseProfiles(String body) {
+        Map<String, MojangProfile> profiles = new HashMap<>();
+        for (JsonElement element : JsonParser.parseString(body).getAsJsonArray()) {
+            JsonObject profile = element.getAsJsonObject();
+            String name = profile.get("name").getAsString();
+            profiles.put(name.toLowerCase(Locale.ROOT), new MojangProfile(name, UuidResolver.parseUndashed(profile.get("id").getAsString())));
+        }
+        return profiles;
+    }
+
+    private void complete(List<String> batch, Map<String, MojangProfile> profiles) {
+        long now = System.currentTimeMillis();
+        evictExpired(now);
+
+        for (String key : batch) {
+            MojangProfile profile = profiles.get(key);
+            if (cache.size() < maxCachedNames) {
+                cache.put(key, new CachedResult(profile, now + (profile != null ? validTtlMillis : invalidTtlMillis)));
+            }
+            if (profile != null) {
+                uuidResolver.remember(profile.getName(), profile.getUuid());
+            }
+
+            CompletableFuture<MojangProfile> future = pending.remove(key);
+            if (future != null) {
+                future.complete(profile);
+            }
+        }
+    }
+
+    private void fail(List<String> batch, Throwable error) {
+        logger.warning(prefix + " Vérification des pseudos auprès de Mojang impossible : " + error.getMessage());
+        for (String key : batch) {
+            CompletableFuture<MojangProfile> future = pending.remove(key);
+            if (future != null) {
+                future.completeExceptionally(error);
+            }
+        }
+    }
+
+    private void evictExpired(long now) {
+        if (cache.size() < maxCachedNames) return;
+
+        Iterator<CachedResult> entries = cache.values().iterator();
+        while (entries.hasNext()) {
+            if (entries.next().expiresAt <= now) {
+                entries.remove();
+            }
+        }
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
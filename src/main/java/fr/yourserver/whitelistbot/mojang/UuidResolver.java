@@ -0,0 +1,184 @@
+package fr.yourserver.whitelistbot.mojang;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import fr.yourserver.whitelistbot.database.AsyncDatabaseManager;
+import fr.yourserver.whitelistbot.database.PlayerUuid;
+import fr.yourserver.whitelistbot.metrics.Counter;
+import fr.yourserver.whitelistbot.metrics.MetricsRegistry;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Résout un pseudo Minecraft en UUID hors du thread principal, pour que le thread principal
+ * n'ait plus qu'à modifier la whitelist ({@code Bukkit.getOfflinePlayer(UUID)} ne fait aucun appel réseau).
+ *
+ * <p>Ordre de résolution : UUID hors-ligne calculé si le serveur est en mode hors-ligne, sinon la
+ * table player_uuids tant que l'entrée a moins de {@code ttl}, sinon l'API profil de Mojang
+ * (le résultat est enregistré). Si Mojang ne répond pas, une entrée expirée reste utilisée.
+ * Les résolutions simultanées d'un même pseudo partagent une seule requête.
+ */
+public class UuidResolver {
+
+    private final AsyncDatabaseManager database;
+    private final Logger logger;
+    private final String prefix;
+    private final boolean onlineMode;
+    private final String profileUrl;
+    private final long ttlMillis;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+    private final Map<String, CompletableFuture<UUID>> inFlight = new ConcurrentHashMap<>();
+    private final Counter fromDatabase;
+    private final Counter fromMojang;
+    private final Counter offline;
+    private final Counter notFound;
+    private final Counter failures;
+
+    /**
+     * @param profileUrl URL de l'API profil, {@code {username}} est remplacé par le pseudo
+     */
+    public UuidResolver(AsyncDatabaseManager database, Logger logger, String prefix, boolean onlineMode,
+                        String profileUrl, long ttlMillis, long timeoutMillis, MetricsRegistry metrics) {
+        this.database = database;
+        this.logger = logger;
+        this.prefix = prefix;
+        this.onlineMode = onlineMode;
+        this.profileUrl = profileUrl;
+        this.ttlMillis = ttlMillis;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+
+        String help = "Username to UUID resolutions by source";
+        this.fromDatabase = metrics.counter("whitelistbot_uuid_resolutions_total", help, "source", "database");
+        this.fromMojang = metrics.counter("whitelistbot_uuid_resolutions_total", help, "source", "mojang");
+        this.offline = metrics.counter("whitelistbot_uuid_resolutions_total", help, "source", "offline");
+        this.notFound = metrics.counter("whitelistbot_uuid_resolutions_total", help, "source", "not_found");
+        this.failures = metrics.counter("whitelistbot_uuid_resolutions_total", help, "source", "error");
+    }
+
+    /**
+     * UUID du pseudo, ou null si aucun compte Minecraft ne porte ce pseudo.
+     * Les suites s'exécutent hors du thread principal : repasser par le scheduler pour l'API Bukkit.
+     */
+    public CompletableFuture<UUID> resolve(String username) {
+        if (!onlineMode) {
+            offline.increment();
+            return CompletableFuture.completedFuture(offlineUuid(username));
+        }
+
+        String key = username.toLowerCase(Locale.ROOT);
+        CompletableFuture<UUID> future = new CompletableFuture<>();
+        CompletableFuture<UUID> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return existing;
+        }
+
+        database.getPlayerUuid(username)
+                .exceptionally(error -> {
+                    logger.warning(prefix + " Lecture du cache UUID impossible pour " + username + " : "
+                            + AsyncDatabaseManager.unwrap(error).getMessage());
+                    return null;
+                })
+                .thenCompose(known -> {
+                    if (known != null && known.isFresh(ttlMillis)) {
+                        fromDatabase.increment();
+                        return CompletableFuture.completedFuture(known.getUuid());
+                    }
+                    return fetch(username, known);
+                })
+                .whenComplete((uuid, error) -> {
+                    inFlight.remove(key, future);
+                    if (error != null) {
+                        future.completeExceptionally(error);
+                    } else {
+                        future.complete(uuid);
+                    }
+                });
+
+        return future;
+    }
+
+    private CompletableFuture<UUID> fetch(String username, PlayerUuid stale) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(
+                        profileUrl.replace("{username}", URLEncoder.encode(username, StandardCharsets.UTF_8))))
+                .timeout(timeout)
+                .GET()
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    // 204 (ancienne API) ou 404 : aucun compte avec ce pseudo
+                    if (response.statusCode() == 204 || response.statusCode() == 404) {
+                        notFound.increment();
+                        return null;
+                    }
+                    if (response.statusCode() != 200) {
+                        throw new CompletionException(new IllegalStateException("HTTP " + response.statusCode()));
+                    }
+
+                    JsonObject profile = JsonParser.parseString(response.body()).getAsJsonObject();
+                    UUID uuid = parseUndashed(profile.get("id").getAsString());
+                    fromMojang.increment();
+
+                    database.savePlayerUuid(username, uuid).exceptionally(error -> {
+                        logger.warning(prefix + " Enregistrement de l'UUID de " + username + " impossible : "
+                                + AsyncDatabaseManager.unwrap(error).getMessage());
+                        return null;
+                    });
+                    return uuid;
+                })
+                .exceptionally(error -> {
+                    Throwable cause = AsyncDatabaseManager.unwrap(error);
+                    if (stale != null) {
+                        logger.warning(prefix + " API Mojang indisponible (" + cause.getMessage() + "), UUID en cache utilisé pour " + username);
+                        fromDatabase.increment();
+                        return stale.getUuid();
+                    }
+                    failures.increment();
+                    throw new CompletionException("Résolution de l'UUID de " + username + " impossible : " + cause.getMessage(), cause);
+                });
+    }
+
+    /**
+     * Enregistre un UUID obtenu ailleurs (vérification des pseudos) : l'approbation le trouvera en base.
+     */
+    public void remember(String username, UUID uuid) {
+        if (!onlineMode) return;
+
+        database.savePlayerUuid(username, uuid).exceptionally(error -> {
+            logger.warning(prefix + " Enregistrement de l'UUID de " + username + " impossible : "
+                    + AsyncDatabaseManager.unwrap(error).getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * UUID attribué par un serveur en mode hors-ligne (même calcul que le serveur).
+     */
+    public static UUID offlineUuid(String username) {
+        return UUID.nameUUIDFromBytes(("OfflinePlayer:" + username).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // L'API Mojang renvoie l'UUID sans tirets
+    static UUID parseUndashed(String hex) {
+        return new UUID(Long.parseUnsignedLong(hex.substring(0, 16), 16), Long.parseUnsignedLong(hex.substring(16, 32), 16));
+    }
+
+    public boolean isOnlineMode() {
+        return onlineMode;
+    }
+}
@@ -0,0 +1,159 @@
+package fr.yourserver.whitelistbot.whitelist;
+
+import fr.yourserver.whitelistbot.metrics.Counter;
+import fr.yourserver.whitelistbot.metrics.MetricsRegistry;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Limite glissante du nombre de demandes de whitelist par utilisateur Discord
+ * ({@code maxAttempts} sur une fenêtre de {@code windowMillis}).
+ *
+ * <p>Seules les {@code maxAttempts} dernières tentatives de chaque utilisateur sont gardées, triées :
+ * la plus ancienne suffit à savoir si la fenêtre est pleine et quand elle se libère. Les utilisateurs
+ * sont répartis sur des verrous indépendants, si bien que des clics simultanés d'utilisateurs
+ * différents ne s'attendent presque jamais. Une limite nulle ou négative désactive le contrôle.
+ */
+public class RequestRateLimiter {
+
+    private static final int STRIPES = 16;
+
+    private static final class Stripe {
+        // Instants des dernières tentatives, du plus ancien au plus récent ; 0 pour un emplacement vide
+        private final Map<String, long[]> attempts = new HashMap<>();
+    }
+
+    private final int maxAttempts;
+    private final long windowMillis;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    private final Counter allowed;
+    private final Counter limited;
+
+    public RequestRateLimiter(int maxAttempts, long windowMillis, MetricsRegistry metrics) {
+        this.maxAttempts = maxAttempts;
+        this.windowMillis = windowMillis;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+
+        String help = "Whitelist request attempts by result: allowed, or refused by security.max-requests-per-day";
+        this.allowed = metrics.counter("whitelistbot_request_limit_total", help, "result", "allowed");
+        this.limited = metrics.counter("whitelistbot_request_limit_total", help, "result", "limited");
+        metrics.gauge("whitelistbot_request_limit_users", "Discord users with attempts in the rate limit window", this::size);
+    }
+
+    public boolean isEnabled() {
+        return maxAttempts > 0;
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * Délai en millisecondes avant que l'utilisateur puisse faire une nouvelle demande, 0 s'il le peut
+     * maintenant. Ne consomme rien.
+     */
+    public long retryAfter(String discordId, long now) {
+        if (!isEnabled()) {
+            return 0;
+        }
+
+        Stripe stripe = stripe(discordId);
+        synchronized (stripe) {
+            return waitFor(stripe.attempts.get(discordId), now);
+        }
+    }
+
+    /**
+     * Enregistre une tentative si la fenêtre le permet. Renvoie 0 si elle est acceptée, sinon le délai
+     * en millisecondes avant la prochaine tentative possible.
+     */
+    public long tryAcquire(String discordId, long now) {
+        if (!isEnabled()) {
+            return 0;
+        }
+
+        long wait;
+        Stripe stripe = stripe(discordId);
+        synchronized (stripe) {
+            long[] times = stripe.attempts.get(discordId);
+            wait = waitFor(times, now);
+            if (wait == 0) {
+                if (times == null) {
+                    times = new long[maxAttempts];
+                    stripe.attempts.put(discordId, times);
+                }
+                append(times, now);
+            }
+        }
+
+        (wait == 0 ? allowed : limited).increment();
+        return wait;
+    }
+
+    /**
+     * Ajoute une tentative passée (rechargement depuis la base) ; à appeler dans l'ordre chronologique.
+     */
+    public void load(String discordId, long time) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        Stripe stripe = stripe(discordId);
+        synchronized (stripe) {
+            append(stripe.attempts.computeIfAbsent(discordId, id -> new long[maxAttempts]), time);
+        }
+    }
+
+    /**
+     * Oublie les utilisateurs dont toutes les tentatives sont sorties de la fenêtre.
+     */
+    public void prune(long now) {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                Iterator<long[]> iterator = stripe.attempts.values().iterator();
+                while (iterator.hasNext()) {
+                    long[] times = iterator.next();
+                    if (times[times.length - 1] <= now - windowMillis) {
+                        iterator.remove();
+                    }
+                }
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.attempts.size();
+            }
+        }
+        return size;
+    }
+
+    // La fenêtre est pleine tant que la plus ancienne des maxAttempts dernières tentatives y est encore
+    private long waitFor(long[] times, long now) {
+        if (times == null) {
+            return 0;
+        }
+        return Math.max(0, times[0] + windowMillis - now);
+    }
+
+    private static void append(long[] times, long time) {
+        System.arraycopy(times, 1, times, 0, times.length - 1);
+        times[times.length - 1] = time;
+        // Rechargement et horloge qui recule : garder l'ordre
+        Arrays.sort(times);
+    }
+
+    private Stripe stripe(String discordId) {
+        int hash = discordId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+}
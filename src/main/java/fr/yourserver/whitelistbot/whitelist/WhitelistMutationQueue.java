@@ -0,0 +1,183 @@
+package fr.yourserver.whitelistbot.whitelist;
+
+import fr.yourserver.whitelistbot.metrics.Counter;
+import fr.yourserver.whitelistbot.metrics.MetricsRegistry;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * File des ajouts et retraits de la whitelist, appliqués sur le thread principal à chaque tick
+ * dans la limite d'un budget de temps (au moins une modification par tick pour toujours avancer).
+ *
+ * <p>Chaque {@code setWhitelisted} réécrit whitelist.json et Bukkit n'offre pas d'écriture groupée :
+ * la file borne donc le coût par tick et supprime les écritures inutiles. Plusieurs demandes pour un
+ * même joueur en attente sont fusionnées (la dernière l'emporte : un ajout suivi d'un retrait devient
+ * un retrait, et l'ajout échoue avec {@link SupersededException}) et un joueur déjà dans l'état
+ * demandé n'est pas réécrit.
+ */
+public class WhitelistMutationQueue {
+
+    /**
+     * Modification remplacée, avant d'être appliquée, par une modification contraire du même joueur.
+     */
+    public static final class SupersededException extends IllegalStateException {
+        private SupersededException(UUID uuid, boolean whitelisted) {
+            super((whitelisted ? "Ajout" : "Retrait") + " de " + uuid + " remplacé par une modification ultérieure");
+        }
+    }
+
+    private static final class Mutation {
+        private final UUID uuid;
+        private boolean whitelisted;
+        private final List<CompletableFuture<Boolean>> waiters = new ArrayList<>(1);
+
+        private Mutation(UUID uuid) {
+            this.uuid = uuid;
+        }
+    }
+
+    private final Plugin plugin;
+    private final Function<UUID, OfflinePlayer> players;
+    private final long budgetNanos;
+    // Ordre d'arrivée conservé ; protégé par this
+    private final Map<UUID, Mutation> pending = new LinkedHashMap<>();
+    // Plus rien n'appliquerait une modification acceptée après l'arrêt ; protégé par this
+    private boolean stopped;
+    private BukkitTask task;
+
+    private final Counter applied;
+    private final Counter unchanged;
+    private final Counter merged;
+
+    public WhitelistMutationQueue(Plugin plugin, long budgetNanos, MetricsRegistry metrics) {
+        this(plugin, Bukkit::getOfflinePlayer, budgetNanos, metrics);
+    }
+
+    WhitelistMutationQueue(Plugin plugin, Function<UUID, OfflinePlayer> players, long budgetNanos, MetricsRegistry metrics) {
+        this.plugin = plugin;
+        this.players = players;
+        this.budgetNanos = budgetNanos;
+
+        String help = "Whitelist changes by result: written, already in the requested state, or merged into a later change";
+        this.applied = metrics.counter("whitelistbot_whitelist_mutations_total", help, "result", "applied");
+        this.unchanged = metrics.counter("whitelistbot_whitelist_mutations_total", help, "result", "unchanged");
+        this.merged = metrics.counter("whitelistbot_whitelist_mutations_total", help, "result", "merged");
+        metrics.gauge("whitelistbot_whitelist_mutations_pending", "Whitelist changes waiting for the server thread", this::size);
+    }
+
+    /**
+     * Démarre l'application à chaque tick ; à appeler depuis le thread principal.
+     */
+    public void start() {
+        task = Bukkit.getScheduler().runTaskTimer(plugin, this::drain, 1L, 1L);
+    }
+
+    /**
+     * Met en file l'ajout ({@code true}) ou le retrait d'un joueur. La future est complétée sur le
+     * thread principal une fois la modification appliquée, avec {@code true} si la whitelist a changé ;
+     * ses suites doivent rester légères. Elle échoue avec {@link SupersededException} si une modification
+     * contraire du même joueur arrive avant l'application, et immédiatement après {@link #shutdown()}.
+     */
+    public CompletableFuture<Boolean> submit(UUID uuid, boolean whitelisted) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        List<CompletableFuture<Boolean>> superseded = List.of();
+        synchronized (this) {
+            if (stopped) {
+                future.completeExceptionally(new IllegalStateException("La file de la whitelist est arrêtée"));
+                return future;
+            }
+
+            Mutation mutation = pending.get(uuid);
+            if (mutation == null) {
+                mutation = new Mutation(uuid);
+                pending.put(uuid, mutation);
+            } else {
+                merged.increment();
+                if (mutation.whitelisted != whitelisted) {
+                    // Les demandeurs précédents voulaient l'état contraire : ils n'auront pas ce qu'ils attendaient
+                    superseded = new ArrayList<>(mutation.waiters);
+                    mutation.waiters.clear();
+                }
+            }
+            mutation.whitelisted = whitelisted;
+            mutation.waiters.add(future);
+        }
+
+        // Hors du verrou : les suites s'exécutent sur ce thread
+        if (!superseded.isEmpty()) {
+            SupersededException error = new SupersededException(uuid, !whitelisted);
+            superseded.forEach(waiter -> waiter.completeExceptionally(error));
+        }
+        return future;
+    }
+
+    // Thread principal, une fois par tick
+    private void drain() {
+        long deadline = System.nanoTime() + budgetNanos;
+        do {
+            Mutation mutation = poll();
+            if (mutation == null) return;
+            apply(mutation);
+        } while (System.nanoTime() < deadline);
+    }
+
+    private synchronized Mutation poll() {
+        Iterator<Mutation> mutations = pending.values().iterator();
+        if (!mutations.hasNext()) return null;
+
+        Mutation mutation = mutations.next();
+        mutations.remove();
+        return mutation;
+    }
+
+    private void apply(Mutation mutation) {
+        boolean changed;
+        try {
+            OfflinePlayer player = players.apply(mutation.uuid);
+            changed = player.isWhitelisted() != mutation.whitelisted;
+            if (changed) {
+                player.setWhitelisted(mutation.whitelisted);
+            }
+        } catch (RuntimeException e) {
+            mutation.waiters.forEach(waiter -> waiter.completeExceptionally(e));
+            return;
+        }
+
+        (changed ? applied : unchanged).increment();
+        mutation.waiters.forEach(waiter -> waiter.complete(changed));
+    }
+
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    /**
+     * Applique tout ce qui reste sans limite de temps puis arrête la file (désactivation du plugin,
+     * thread principal). Les soumissions suivantes échouent immédiatement.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            stopped = true;
+        }
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+
+        Mutation mutation;
+        while ((mutation = poll()) != null) {
+            apply(mutation);
+        }
+    }
+}
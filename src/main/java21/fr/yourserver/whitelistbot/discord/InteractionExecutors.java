@@ -0,0 +1,34 @@
+package fr.yourserver.whitelistbot.discord;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+/**
+ * Creates the executor that runs Discord interaction handlers.
+ * This is the Java 21 version, loaded from the multi-release jar: by default each
+ * interaction gets its own virtual thread, so blocking JDBC or JDA complete() calls
+ * do not hold a platform thread and bursts of interactions are not capped by a pool size.
+ */
+public final class InteractionExecutors {
+    
+    private InteractionExecutors() {
+    }
+    
+    /**
+     * @param mode "auto", "virtual" or "platform" (discord.interaction-executor.mode)
+     */
+    public static ExecutorService create(String mode, int maxThreads, int queueCapacity, Logger logger, String prefix) {
+        if ("platform".equalsIgnoreCase(mode)) {
+            return InteractionThreadPool.create(maxThreads, queueCapacity);
+        }
+        
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+                .name("WhitelistBot-Interaction-", 1)
+                .factory());
+    }
+    
+    public static boolean supportsVirtualThreads() {
+        return true;
+    }
+}
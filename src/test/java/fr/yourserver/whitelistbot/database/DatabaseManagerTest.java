@@ -0,0 +1,102 @@
+package fr.yourserver.whitelistbot.database;
+
+import org.bukkit.configuration.MemoryConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DatabaseManagerTest {
+
+    private static final Logger LOGGER = Logger.getLogger("WhitelistBot-Test");
+
+    static {
+        LOGGER.setLevel(Level.WARNING);
+    }
+
+    @TempDir
+    File directory;
+
+    private DatabaseManager database;
+
+    @BeforeEach
+    void open() throws SQLException {
+        database = open(directory);
+    }
+
+    @AfterEach
+    void close() {
+        database.close();
+    }
+
+    @Test
+    void resubmissionKeepsTheRowAndItsHistory() throws SQLException {
+        LocalDateTime first = LocalDateTime.of(2024, 3, 1, 12, 0);
+        database.saveWhitelistRequest(new WhitelistRequest("1001", "player#0001", "Steve", first));
+        database.setAdminMessageIdAsync("1001", "900").join();
+        database.updateRequestStatus("1001", RequestStatus.DENIED, "moderator");
+
+        WhitelistRequest denied = database.getWhitelistRequest("1001");
+        long id = denied.getId();
+
+        LocalDateTime second = first.plusDays(2);
+        database.saveWhitelistRequest(new WhitelistRequest("1001", "player#0002", "Alex", second));
+
+        // Read back from SQLite rather than from the memory cache
+        database.close();
+        database = open(directory);
+
+        WhitelistRequest resubmitted = database.getWhitelistRequest("1001");
+        assertNotNull(resubmitted);
+        assertEquals(id, resubmitted.getId());
+        assertEquals(RequestStatus.PENDING, resubmitted.getStatus());
+        assertEquals("Alex", resubmitted.getMinecraftUsername());
+        assertEquals("player#0002", resubmitted.getDiscordTag());
+        assertEquals(second, resubmitted.getRequestTime());
+        assertEquals("900", resubmitted.getAdminMessageId());
+        assertEquals("moderator", resubmitted.getProcessedBy());
+        // Stored as epoch millis
+        assertEquals(denied.getProcessedTime().truncatedTo(ChronoUnit.MILLIS), resubmitted.getProcessedTime());
+    }
+
+    @Test
+    void cacheHoldsTheSavedRow() throws SQLException {
+        database.saveWhitelistRequest(new WhitelistRequest("1002", "player#0003", "Herobrine", LocalDateTime.of(2024, 3, 1, 12, 0)));
+        database.setAdminMessageIdAsync("1002", "901").join();
+        database.updateRequestStatus("1002", RequestStatus.TICKET, "moderator");
+        long id = database.getWhitelistRequest("1002").getId();
+
+        assertTrue(database.saveWhitelistRequest(new WhitelistRequest("1002", "player#0003", "Notch", LocalDateTime.of(2024, 3, 2, 12, 0))));
+
+        WhitelistRequest cached = database.getWhitelistRequest("1002");
+        assertEquals(id, cached.getId());
+        assertEquals(RequestStatus.PENDING, cached.getStatus());
+        assertEquals("Notch", cached.getMinecraftUsername());
+        assertEquals("901", cached.getAdminMessageId());
+    }
+
+    @Test
+    void pendingRequestIsNotReplaced() throws SQLException {
+        assertTrue(database.saveWhitelistRequest(new WhitelistRequest("1003", "player#0004", "Steve", LocalDateTime.of(2024, 3, 1, 12, 0))));
+
+        assertFalse(database.saveWhitelistRequest(new WhitelistRequest("1003", "player#0004", "Alex", LocalDateTime.of(2024, 3, 1, 12, 5))));
+
+        assertEquals("Steve", database.getWhitelistRequest("1003").getMinecraftUsername());
+    }
+
+    private static DatabaseManager open(File directory) throws SQLException {
+        return new DatabaseManager(LOGGER, "[Test]", directory, new MemoryConfiguration());
+    }
+}
@@ -0,0 +1,74 @@
+package fr.yourserver.whitelistbot.discord;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.Color;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MessageTemplatesTest {
+
+    private static final Logger LOGGER = Logger.getLogger("WhitelistBot-Test");
+
+    @TempDir
+    File directory;
+
+    // Same steps as /whitelistbot reload: config.yml read again, then a new MessageTemplates
+    @Test
+    void reloadPicksUpChangedValues() throws IOException {
+        File file = new File(directory, "config.yml");
+        write(file, """
+                messages:
+                  request-approved: "Approved."
+                discord:
+                  embed-messages:
+                    removal-message: "{username} removed by {admin}"
+                """);
+        MessageTemplates before = load(file);
+
+        write(file, """
+                messages:
+                  request-approved: "Approved, {username} can join."
+                  already-requested: "Still waiting."
+                discord:
+                  colors:
+                    removal: "#123456"
+                  embed-messages:
+                    removal-message: "{admin} removed {username} on {date}"
+                """);
+        MessageTemplates after = load(file);
+
+        assertEquals("Approved.", before.text(MessageTemplates.Key.REQUEST_APPROVED));
+        assertEquals("Approved, {username} can join.", after.text(MessageTemplates.Key.REQUEST_APPROVED));
+        assertEquals("Still waiting.", after.text(MessageTemplates.Key.ALREADY_REQUESTED));
+        assertEquals("Steve removed by admin", before.render(MessageTemplates.Key.REMOVAL_MESSAGE, "Steve", "admin", "today"));
+        assertEquals("admin removed Steve on today", after.render(MessageTemplates.Key.REMOVAL_MESSAGE, "Steve", "admin", "today"));
+        assertEquals(Color.RED, before.getRemovalColor());
+        assertEquals(new Color(0x123456), after.getRemovalColor());
+    }
+
+    @Test
+    void missingKeysUseTheDefaults() {
+        MessageTemplates messages = new MessageTemplates(new YamlConfiguration(), LOGGER, "[Test]");
+
+        assertEquals("❌ Request denied.", messages.text(MessageTemplates.Key.REQUEST_DENIED));
+        assertEquals("⚠️ You already have a pending request.", messages.text(MessageTemplates.Key.ALREADY_REQUESTED));
+        assertEquals("⚠️ `Steve` could not be added to the Minecraft whitelist (offline). Add them manually with `/whitelist add`.",
+                messages.render(MessageTemplates.Key.WHITELIST_ADD_FAILED, "Steve", "offline"));
+    }
+
+    private static MessageTemplates load(File file) {
+        return new MessageTemplates(YamlConfiguration.loadConfiguration(file), LOGGER, "[Test]");
+    }
+
+    private static void write(File file, String content) throws IOException {
+        Files.writeString(file.toPath(), content, StandardCharsets.UTF_8);
+    }
+}
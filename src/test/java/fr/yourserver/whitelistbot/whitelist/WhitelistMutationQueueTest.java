@@ -0,0 +1,81 @@
+package fr.yourserver.whitelistbot.whitelist;
+
+import fr.yourserver.whitelistbot.metrics.MetricsRegistry;
+import org.bukkit.OfflinePlayer;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WhitelistMutationQueueTest {
+
+    private final Map<UUID, Boolean> whitelist = new HashMap<>();
+    private final Map<UUID, Integer> writes = new HashMap<>();
+    private final WhitelistMutationQueue queue = new WhitelistMutationQueue(null, this::player, 0, new MetricsRegistry());
+
+    @Test
+    void addThenRemoveSupersedesTheAdd() {
+        UUID uuid = UUID.randomUUID();
+
+        CompletableFuture<Boolean> add = queue.submit(uuid, true);
+        CompletableFuture<Boolean> remove = queue.submit(uuid, false);
+
+        // The add is failed as soon as the remove replaces it, before anything is applied
+        ExecutionException error = assertThrows(ExecutionException.class, add::get);
+        assertInstanceOf(WhitelistMutationQueue.SupersededException.class, error.getCause());
+        assertFalse(remove.isDone());
+
+        queue.shutdown();
+
+        assertFalse(remove.join(), "the player was never whitelisted, the remove changed nothing");
+        assertFalse(whitelist.getOrDefault(uuid, false));
+        assertEquals(0, writes.getOrDefault(uuid, 0));
+    }
+
+    @Test
+    void sameStateWaitersShareTheResult() {
+        UUID uuid = UUID.randomUUID();
+
+        CompletableFuture<Boolean> first = queue.submit(uuid, true);
+        CompletableFuture<Boolean> second = queue.submit(uuid, true);
+        queue.shutdown();
+
+        assertTrue(first.join());
+        assertTrue(second.join());
+        assertTrue(whitelist.get(uuid));
+        assertEquals(1, writes.get(uuid));
+    }
+
+    @Test
+    void submitAfterShutdownFails() {
+        queue.shutdown();
+
+        CompletableFuture<Boolean> late = queue.submit(UUID.randomUUID(), true);
+
+        assertTrue(late.isCompletedExceptionally());
+    }
+
+    private OfflinePlayer player(UUID uuid) {
+        return (OfflinePlayer) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{OfflinePlayer.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "isWhitelisted" -> whitelist.getOrDefault(uuid, false);
+                    case "setWhitelisted" -> {
+                        whitelist.put(uuid, (Boolean) args[0]);
+                        writes.merge(uuid, 1, Integer::sum);
+                        yield null;
+                    }
+                    case "getUniqueId" -> uuid;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}